@@ -1,12 +1,19 @@
 package com.expensemanager;
 
+import com.expensemanager.reactive.ReactiveExpenseManagerApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// The servlet stack runs on JPA; R2DBC is only used by the reactive variant (see ReactiveExpenseManagerApplication)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ExpenseManagerApplication {
 
 	public static void main(String[] args) {
+		if (ReactiveExpenseManagerApplication.isRequested(args)) {
+			ReactiveExpenseManagerApplication.run(args);
+			return;
+		}
 		SpringApplication.run(ExpenseManagerApplication.class, args);
 	}
 
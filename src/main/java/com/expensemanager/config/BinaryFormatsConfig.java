@@ -0,0 +1,43 @@
+package com.expensemanager.config;
+
+import com.expensemanager.util.CentsModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary alternatives to JSON, selected with the Accept (and Content-Type) header: application/cbor and
+ * application/x-jackson-smile. The mappers share the JSON mapper's Spring Boot settings and modules, and
+ * encode amounts as integer cents (CentsModule). These beans replace the converters Spring MVC would register
+ * for the same formats with a plain mapper.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    // Each method gets its own builder; Spring Boot declares it as a prototype
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cbor(builder).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smile(builder).build());
+    }
+
+    public static Jackson2ObjectMapperBuilder cbor(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory())
+                .postConfigurer(mapper -> mapper.registerModule(new CentsModule()));
+    }
+
+    // Categories repeat across a list, so repeated short string values are written as back-references
+    public static Jackson2ObjectMapperBuilder smile(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .postConfigurer(mapper -> mapper.registerModule(new CentsModule()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.expensemanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    // Hibernate's own statistics (hibernate.* meters) report hits, misses and puts per region.
+    // Evictions are only known to the cache provider, so the JCache regions are bound as well (cache.* meters).
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> bindRegions(entityManagerFactory, registry);
+    }
+
+    private void bindRegions(EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(RegionFactory.class);
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return; // Second-level cache disabled
+        }
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName));
+        }
+    }
+}
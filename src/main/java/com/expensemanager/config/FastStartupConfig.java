@@ -0,0 +1,43 @@
+package com.expensemanager.config;
+
+import com.expensemanager.controller.AuthController;
+import com.expensemanager.controller.UserController;
+import com.expensemanager.service.CustomUserDetailsService;
+import com.expensemanager.service.UserService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Set;
+
+/**
+ * Decides which beans stay eager when the fast-startup profile makes the context lazy. Beans with scheduled
+ * methods must be created at startup or their jobs never run, and the login and profile path is created up
+ * front so the first requests a new instance receives do not pay for it. Everything else waits for first use.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    private static final Set<Class<?>> FIRST_REQUEST_PATH = Set.of(
+            AuthController.class, UserController.class, UserService.class, CustomUserDetailsService.class);
+
+    // Static so the filter is available before this configuration class is instantiated
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (FIRST_REQUEST_PATH.contains(beanType) || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        boolean[] found = new boolean[1];
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found[0] = true,
+                method -> !found[0] && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found[0];
+    }
+}
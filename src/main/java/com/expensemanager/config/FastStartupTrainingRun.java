@@ -0,0 +1,78 @@
+package com.expensemanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Training run for the class-data sharing archive that {@code mvn -Pfast-startup package} records. With
+ * fast-startup.training-run=true the instance waits until it is ready, sends the requests a new instance first
+ * serves (sign-up, login, profile, create and list expenses) to itself and exits. The archive then holds the
+ * classes of Hibernate, the repositories, MVC and Security, not only those loaded while the context refreshed.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartupTrainingRun.class);
+    private static final String USERNAME = "cds-training";
+    private static final String PASSWORD = "cds-training";
+
+    private final boolean trainingRun;
+
+    public FastStartupTrainingRun(@Value("${fast-startup.training-run:false}") boolean trainingRun) {
+        this.trainingRun = trainingRun;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train(ApplicationReadyEvent event) throws Exception {
+        if (!trainingRun) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port;
+        HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + USERNAME + "\",\"password\":\""
+                        + PASSWORD + "\",\"email\":\"" + USERNAME + "@training.local\"}")));
+        send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + USERNAME + "&password=" + PASSWORD)));
+        send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/profile")).GET());
+        send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/expenses"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"description\":\"Training\",\"amount\":1.00,\"date\":\"2024-01-01\",\"category\":\"Training\"}")));
+        send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/expenses")).GET());
+
+        log.info("Training requests done; exiting so the class-data sharing archive is written");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    // A failed request fails the build rather than recording an archive that misses the request path
+    private static void send(HttpClient http, HttpRequest.Builder request) throws Exception {
+        HttpResponse<Void> response = http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Training request " + response.request().uri() + " failed with "
+                    + response.statusCode());
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.expensemanager.config;
 
+import com.expensemanager.ratelimit.PrincipalRateLimiter;
+import com.expensemanager.ratelimit.RateLimitFilter;
+import com.expensemanager.ratelimit.RequestBulkheads;
 import com.expensemanager.service.CustomUserDetailsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +17,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
@@ -19,10 +25,19 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalRateLimiter rateLimiter;
+    private final RequestBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService, PrincipalRateLimiter rateLimiter,
+                          RequestBulkheads bulkheads, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.customUserDetailsService = customUserDetailsService;
+        this.rateLimiter = rateLimiter;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -74,7 +89,11 @@ public class SecurityConfig {
                     .expiredUrl("/api/auth/login?expired=true") // URL if session expires due to concurrent login
             )
             // For H2 console to work with Spring Security, frame options need to be disabled
-            .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
+            .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
+            // Rate limits and bulkheads run before form login so login attempts are throttled too.
+            // Not a bean on purpose: Spring Boot would otherwise also register it as a plain servlet filter.
+            .addFilterBefore(new RateLimitFilter(rateLimiter, bulkheads, objectMapper, meterRegistry),
+                    UsernamePasswordAuthenticationFilter.class);
 
 
         return http.build();
@@ -0,0 +1,35 @@
+package com.expensemanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+@Configuration
+public class ThreadingModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeConfig.class);
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final boolean virtualThreadsRequested;
+
+    public ThreadingModeConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested) {
+        this.virtualThreadsRequested = virtualThreadsRequested;
+    }
+
+    // Spring Boot silently falls back to platform threads on older JDKs; make the effective mode visible
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Request handling uses the platform thread pool");
+        } else if (javaVersion >= VIRTUAL_THREADS_MIN_JAVA) {
+            log.info("Request handling and task executors use virtual threads");
+        } else {
+            log.warn("Virtual threads were requested but Java {} does not support them; using platform threads",
+                    javaVersion);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.dto.BudgetAlertDto;
+import com.expensemanager.dto.BudgetDto;
+import com.expensemanager.dto.SetBudgetDto;
+import com.expensemanager.service.BudgetService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @Autowired
+    public BudgetController(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new IllegalStateException("User not authenticated or authentication details not found.");
+        }
+        return authentication.getName();
+    }
+
+    // Each budget with what has been spent against it in the current month
+    @GetMapping
+    public ResponseEntity<List<BudgetDto>> getBudgets() {
+        return ResponseEntity.ok(budgetService.getBudgets(getCurrentUsername()));
+    }
+
+    @PutMapping("/{category}")
+    public ResponseEntity<BudgetDto> setBudget(@PathVariable String category, @Valid @RequestBody SetBudgetDto budgetDto) {
+        return ResponseEntity.ok(budgetService.setBudget(getCurrentUsername(), category, budgetDto));
+    }
+
+    @DeleteMapping("/{category}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable String category) {
+        budgetService.deleteBudget(getCurrentUsername(), category);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Most recent threshold alerts, newest first
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlertDto>> getAlerts() {
+        return ResponseEntity.ok(budgetService.getRecentAlerts(getCurrentUsername()));
+    }
+}
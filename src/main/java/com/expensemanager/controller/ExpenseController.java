@@ -1,27 +1,61 @@
 package com.expensemanager.controller;
 
+import com.expensemanager.dto.BulkResultDto;
+import com.expensemanager.dto.BulkUpdateExpensesDto;
+import com.expensemanager.dto.CategorySuggestionDto;
 import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.DuplicatePolicy;
 import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.dto.ExpenseSyncDto;
+import com.expensemanager.dto.ImportExpensesDto;
+import com.expensemanager.dto.ImportResultDto;
+import com.expensemanager.service.CategoryClassifier;
+import com.expensemanager.service.DuplicateDetector;
+import com.expensemanager.service.ExpenseChangeFeed;
+import com.expensemanager.service.ExpenseReadCoalescer;
 import com.expensemanager.service.ExpenseService;
+import com.expensemanager.util.VersionETag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/expenses")
 public class ExpenseController {
 
+    // Set on a created expense that looks like a duplicate; the value is the id of the likely original
+    static final String DUPLICATE_OF_HEADER = "X-Possible-Duplicate-Of";
+
     private final ExpenseService expenseService;
+    private final ExpenseReadCoalescer expenseReadCoalescer;
+    private final ExpenseChangeFeed expenseChangeFeed;
+    private final DuplicateDetector duplicateDetector;
+    private final CategoryClassifier categoryClassifier;
 
     @Autowired
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ExpenseReadCoalescer expenseReadCoalescer,
+                             ExpenseChangeFeed expenseChangeFeed, DuplicateDetector duplicateDetector,
+                             CategoryClassifier categoryClassifier) {
         this.expenseService = expenseService;
+        this.expenseReadCoalescer = expenseReadCoalescer;
+        this.expenseChangeFeed = expenseChangeFeed;
+        this.duplicateDetector = duplicateDetector;
+        this.categoryClassifier = categoryClassifier;
     }
 
     private String getCurrentUsername() {
@@ -34,32 +68,104 @@ public class ExpenseController {
         return authentication.getName();
     }
 
+    // onDuplicate (ALLOW, FLAG or REJECT) decides what happens to an expense that looks like one already stored
     @PostMapping
-    public ResponseEntity<ExpenseDto> createExpense(@Valid @RequestBody CreateExpenseDto createExpenseDto) {
+    public ResponseEntity<ExpenseDto> createExpense(@Valid @RequestBody CreateExpenseDto createExpenseDto,
+                                                    @RequestParam(defaultValue = "FLAG") DuplicatePolicy onDuplicate) {
+        ExpenseService.CreatedExpense created = expenseService.createExpense(createExpenseDto, getCurrentUsername(), onDuplicate);
+        ExpenseDto createdExpense = created.expense();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED).eTag(VersionETag.of(createdExpense.getVersion()));
+        if (created.duplicate() != null) {
+            response.header(DUPLICATE_OF_HEADER, String.valueOf(created.duplicate().getDuplicateOfId()));
+        }
+        return response.body(createdExpense);
+    }
+
+    // Creates many expenses in one transaction; rows without a category get a predicted one, and likely
+    // duplicates are listed by row and flagged or rejected
+    @PostMapping("/bulk/import")
+    public ResponseEntity<ImportResultDto> importExpenses(@Valid @RequestBody ImportExpensesDto request,
+                                                         @RequestParam(defaultValue = "FLAG") DuplicatePolicy onDuplicate) {
         String username = getCurrentUsername();
-        ExpenseDto createdExpense = expenseService.createExpense(createExpenseDto, username);
-        return new ResponseEntity<>(createdExpense, HttpStatus.CREATED);
+        return ResponseEntity.ok(expenseService.importExpenses(request.getExpenses(), username, onDuplicate));
+    }
+
+    // Pairs of stored expenses that look like duplicates, found in one pass over the user's expenses
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateDto>> findDuplicates() {
+        return ResponseEntity.ok(duplicateDetector.findDuplicates(getCurrentUsername()));
     }
 
+    // Optional from/to (ISO dates, inclusive); ranges that stay after the archive horizon only read recent data
     @GetMapping
-    public ResponseEntity<List<ExpenseDto>> getAllExpensesForCurrentUser() {
+    public ResponseEntity<List<ExpenseDto>> getAllExpensesForCurrentUser(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         String username = getCurrentUsername();
-        List<ExpenseDto> expenses = expenseService.getExpensesByUsername(username);
+        List<ExpenseDto> expenses = from == null && to == null
+                ? expenseReadCoalescer.getExpensesByUsername(username)
+                : expenseReadCoalescer.getExpensesByUsername(username, from, to);
         return ResponseEntity.ok(expenses);
     }
 
+    // Delta sync for offline clients: changes since the token from the previous call, in pages of at most limit.
+    // Without a token every live expense is returned; follow nextToken while hasMore is set.
+    @GetMapping("/changes")
+    public ResponseEntity<ExpenseSyncDto> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(expenseService.getChangesSince(getCurrentUsername(), since, limit));
+    }
+
+    // Set-based operations over a filter (date range, categories, ids); responses carry the affected count
+    @PostMapping("/bulk/update")
+    public ResponseEntity<BulkResultDto> bulkUpdateExpenses(@Valid @RequestBody BulkUpdateExpensesDto request) {
+        String username = getCurrentUsername();
+        return ResponseEntity.ok(new BulkResultDto(expenseService.bulkUpdateCategory(request, username)));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResultDto> bulkDeleteExpenses(@Valid @RequestBody ExpenseFilterDto filter) {
+        String username = getCurrentUsername();
+        return ResponseEntity.ok(new BulkResultDto(expenseService.bulkDelete(filter, username)));
+    }
+
+    // Likely categories for an expense not yet entered, most probable first
+    @GetMapping("/suggest-category")
+    public ResponseEntity<List<CategorySuggestionDto>> suggestCategory(@RequestParam String description,
+                                                                       @RequestParam BigDecimal amount,
+                                                                       @RequestParam(defaultValue = "3") int limit) {
+        String username = getCurrentUsername();
+        return ResponseEntity.ok(categoryClassifier.suggest(username, description, amount, Math.max(1, Math.min(limit, 10))));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, BigDecimal>> getCategoryTotalsForCurrentUser() {
+        String username = getCurrentUsername();
+        return ResponseEntity.ok(expenseReadCoalescer.getCategoryTotals(username));
+    }
+
+    // Pushes the current user's committed creates, updates and deletes; reconnecting clients send Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExpenseChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String username = getCurrentUsername();
+        return expenseChangeFeed.subscribe(username, lastEventId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ExpenseDto> getExpenseById(@PathVariable Long id) {
         String username = getCurrentUsername();
-        ExpenseDto expenseDto = expenseService.getExpenseByIdAndUsername(id, username);
-        return ResponseEntity.ok(expenseDto);
+        ExpenseDto expenseDto = expenseReadCoalescer.getExpenseByIdAndUsername(id, username);
+        return ResponseEntity.ok().eTag(VersionETag.of(expenseDto.getVersion())).body(expenseDto);
     }
 
+    // With If-Match the update only applies to that version; a stale or concurrent edit gets 412
     @PutMapping("/{id}")
-    public ResponseEntity<ExpenseDto> updateExpense(@PathVariable Long id, @Valid @RequestBody CreateExpenseDto createExpenseDto) {
+    public ResponseEntity<ExpenseDto> updateExpense(@PathVariable Long id, @Valid @RequestBody CreateExpenseDto createExpenseDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String username = getCurrentUsername();
-        ExpenseDto updatedExpense = expenseService.updateExpense(id, createExpenseDto, username);
-        return ResponseEntity.ok(updatedExpense);
+        Set<Long> expectedVersions = VersionETag.parseIfMatch(ifMatch);
+        ExpenseDto updatedExpense = expenseService.updateExpense(id, createExpenseDto, username, expectedVersions);
+        return ResponseEntity.ok().eTag(VersionETag.of(updatedExpense.getVersion())).body(updatedExpense);
     }
 
     @DeleteMapping("/{id}")
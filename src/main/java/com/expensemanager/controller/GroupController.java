@@ -0,0 +1,77 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.dto.AddGroupMemberDto;
+import com.expensemanager.dto.CreateGroupDto;
+import com.expensemanager.dto.CreateSharedExpenseDto;
+import com.expensemanager.dto.GroupDto;
+import com.expensemanager.dto.MemberBalanceDto;
+import com.expensemanager.dto.SharedExpenseDto;
+import com.expensemanager.dto.TransferDto;
+import com.expensemanager.service.GroupService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/groups")
+public class GroupController {
+
+    private final GroupService groupService;
+
+    @Autowired
+    public GroupController(GroupService groupService) {
+        this.groupService = groupService;
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new IllegalStateException("User not authenticated or authentication details not found.");
+        }
+        return authentication.getName();
+    }
+
+    @PostMapping
+    public ResponseEntity<GroupDto> createGroup(@Valid @RequestBody CreateGroupDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(groupService.createGroup(dto, getCurrentUsername()));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<GroupDto>> getGroups() {
+        return ResponseEntity.ok(groupService.getGroups(getCurrentUsername()));
+    }
+
+    @PostMapping("/{groupId}/members")
+    public ResponseEntity<GroupDto> addMember(@PathVariable Long groupId, @Valid @RequestBody AddGroupMemberDto dto) {
+        return ResponseEntity.ok(groupService.addMember(groupId, dto, getCurrentUsername()));
+    }
+
+    @PostMapping("/{groupId}/expenses")
+    public ResponseEntity<SharedExpenseDto> addSharedExpense(@PathVariable Long groupId,
+                                                             @Valid @RequestBody CreateSharedExpenseDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(groupService.addSharedExpense(groupId, dto, getCurrentUsername()));
+    }
+
+    @DeleteMapping("/{groupId}/expenses/{expenseId}")
+    public ResponseEntity<Void> deleteSharedExpense(@PathVariable Long groupId, @PathVariable Long expenseId) {
+        groupService.deleteSharedExpense(groupId, expenseId, getCurrentUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{groupId}/balances")
+    public ResponseEntity<List<MemberBalanceDto>> getBalances(@PathVariable Long groupId) {
+        return ResponseEntity.ok(groupService.getBalances(groupId, getCurrentUsername()));
+    }
+
+    // Transfers that bring every balance in the group to zero
+    @GetMapping("/{groupId}/settlement")
+    public ResponseEntity<List<TransferDto>> getSettlement(@PathVariable Long groupId) {
+        return ResponseEntity.ok(groupService.getSettlement(groupId, getCurrentUsername()));
+    }
+}
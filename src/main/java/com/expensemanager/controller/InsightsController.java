@@ -0,0 +1,37 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.dto.InsightsDto;
+import com.expensemanager.service.InsightsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/insights")
+public class InsightsController {
+
+    private final InsightsService insightsService;
+
+    @Autowired
+    public InsightsController(InsightsService insightsService) {
+        this.insightsService = insightsService;
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new IllegalStateException("User not authenticated or authentication details not found.");
+        }
+        return authentication.getName();
+    }
+
+    // Median and p90 per category (within the reported relative error) and the largest expenses; month is yyyy-MM
+    @GetMapping
+    public ResponseEntity<InsightsDto> getInsights(@RequestParam(required = false) YearMonth month) {
+        return ResponseEntity.ok(insightsService.getInsights(getCurrentUsername(), month == null ? YearMonth.now() : month));
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.dto.CreateRecurringExpenseDto;
+import com.expensemanager.dto.RecurringExpenseDto;
+import com.expensemanager.service.RecurringExpenseService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-expenses")
+public class RecurringExpenseController {
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    @Autowired
+    public RecurringExpenseController(RecurringExpenseService recurringExpenseService) {
+        this.recurringExpenseService = recurringExpenseService;
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new IllegalStateException("User not authenticated or authentication details not found.");
+        }
+        return authentication.getName();
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringExpenseDto> createRecurringExpense(@Valid @RequestBody CreateRecurringExpenseDto dto) {
+        RecurringExpenseDto created = recurringExpenseService.createRecurringExpense(dto, getCurrentUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringExpenseDto>> getRecurringExpenses() {
+        return ResponseEntity.ok(recurringExpenseService.getRecurringExpenses(getCurrentUsername()));
+    }
+
+    // Stops the schedule; expenses it already generated are kept
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurringExpense(@PathVariable Long id) {
+        recurringExpenseService.deleteRecurringExpense(id, getCurrentUsername());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddGroupMemberDto {
+
+    @NotBlank(message = "Username cannot be blank")
+    private String username;
+}
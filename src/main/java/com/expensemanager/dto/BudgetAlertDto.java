@@ -0,0 +1,23 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertDto {
+
+    private Long id;
+    private String category;
+    private LocalDate month; // First day of the month the budget applies to
+    private Integer thresholdPercent;
+    private BigDecimal spent;
+    private BigDecimal budgetAmount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDto {
+
+    private Long id;
+    private String category;
+    private BigDecimal amount;
+    private BigDecimal spent; // In the current calendar month
+}
@@ -0,0 +1,13 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDto {
+
+    private int affected;
+}
@@ -0,0 +1,23 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateExpensesDto {
+
+    @Valid
+    @NotNull(message = "Filter cannot be null")
+    private ExpenseFilterDto filter;
+
+    @NotBlank(message = "Category cannot be blank")
+    @Size(max = 100, message = "Category must be less than 100 characters")
+    private String category;
+}
@@ -0,0 +1,19 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryInsightDto {
+
+    private String category; // null for the row covering every category
+    private long count;
+    private BigDecimal total; // Exact
+    private BigDecimal median; // Within InsightsDto.relativeError of the true value; null when there are no expenses
+    private BigDecimal p90;
+}
@@ -0,0 +1,14 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySuggestionDto {
+
+    private String category;
+    private double probability; // Model estimate, 0 to 1
+}
@@ -0,0 +1,23 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateGroupDto {
+
+    @NotBlank(message = "Group name cannot be blank")
+    @Size(max = 100, message = "Group name must be less than 100 characters")
+    private String name;
+
+    // Usernames besides the creator, who is always a member
+    @Size(max = 500, message = "At most 500 members can be added at once")
+    private List<String> members;
+}
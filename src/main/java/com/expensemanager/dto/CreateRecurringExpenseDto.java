@@ -0,0 +1,55 @@
+package com.expensemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateRecurringExpenseDto {
+
+    @NotBlank(message = "Description cannot be blank")
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Category cannot be blank")
+    @Size(max = 100, message = "Category must be less than 100 characters")
+    private String category;
+
+    // e.g. "@monthly", "0 0 0 1 * *" (first of the month) or "0 0 0 * * MON"
+    @NotBlank(message = "Schedule cannot be blank")
+    @Size(max = 64, message = "Schedule must be less than 64 characters")
+    private String schedule;
+
+    @NotNull(message = "Start date cannot be null")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @JsonIgnore
+    @AssertTrue(message = "Schedule must be a cron expression (second minute hour day month weekday) or macro such as @monthly")
+    public boolean isScheduleValid() {
+        return schedule == null || CronExpression.isValidExpression(schedule);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "End date must not be before start date")
+    public boolean isDateRangeValid() {
+        return startDate == null || endDate == null || !endDate.isBefore(startDate);
+    }
+}
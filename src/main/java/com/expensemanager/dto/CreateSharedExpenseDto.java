@@ -0,0 +1,52 @@
+package com.expensemanager.dto;
+
+import com.expensemanager.entity.SplitRule;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateSharedExpenseDto {
+
+    @NotBlank(message = "Description cannot be blank")
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 8 integer digits and 2 decimals")
+    private BigDecimal amount;
+
+    @NotNull(message = "Date cannot be null")
+    private LocalDate date;
+
+    // Username of the member who paid; defaults to the caller
+    private String paidBy;
+
+    @NotNull(message = "Split rule cannot be null")
+    private SplitRule split;
+
+    // EQUAL: who shares the cost; defaults to every member
+    @Size(max = 500, message = "At most 500 participants")
+    private List<String> participants;
+
+    // SHARES: username -> weight (1..10000)
+    @Size(max = 500, message = "At most 500 participants")
+    private Map<String, Integer> weights;
+
+    // EXACT: username -> amount owed; must add up to the total
+    @Size(max = 500, message = "At most 500 participants")
+    private Map<String, BigDecimal> amounts;
+}
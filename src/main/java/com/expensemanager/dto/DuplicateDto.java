@@ -0,0 +1,16 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateDto {
+
+    private Integer row; // Position in the import request; null in duplicate reports
+    private Long expenseId; // The likely duplicate; null when it was rejected
+    private Long duplicateOfId; // The earlier expense it matches
+    private double similarity; // Estimated description similarity, 0 to 1
+}
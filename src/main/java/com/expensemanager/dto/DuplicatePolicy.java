@@ -0,0 +1,8 @@
+package com.expensemanager.dto;
+
+// What to do with an incoming expense that looks like one the user already has
+public enum DuplicatePolicy {
+    ALLOW,  // no check
+    FLAG,   // store it and report the likely original
+    REJECT  // do not store it
+}
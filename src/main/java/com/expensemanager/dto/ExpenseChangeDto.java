@@ -0,0 +1,16 @@
+package com.expensemanager.dto;
+
+import com.expensemanager.event.ExpenseChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseChangeDto {
+
+    private ExpenseChangeType type;
+    private Long expenseId;   // null for bulk changes
+    private ExpenseDto expense; // null for DELETED and bulk changes
+}
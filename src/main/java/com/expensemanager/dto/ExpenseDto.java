@@ -32,4 +32,6 @@ public class ExpenseDto {
     @NotBlank(message = "Category cannot be blank")
     @Size(max = 100, message = "Category must be less than 100 characters")
     private String category;
+
+    private Long version; // Also sent as the ETag; echo it in If-Match when updating
 }
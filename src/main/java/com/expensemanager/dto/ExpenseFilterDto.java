@@ -0,0 +1,41 @@
+package com.expensemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Selects the current user's expenses for bulk operations; all given criteria must match (dates inclusive)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseFilterDto {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    @Size(max = 100, message = "At most 100 categories can be given")
+    private List<String> categories;
+
+    @Size(max = 1000, message = "At most 1000 expense ids can be given")
+    private List<Long> ids;
+
+    // An empty filter would match every expense the user has; wiping everything must be asked for explicitly
+    @JsonIgnore
+    @AssertTrue(message = "Filter must specify a date range, categories or expense ids")
+    public boolean isRestrictive() {
+        return from != null || to != null || (categories != null && !categories.isEmpty()) || (ids != null && !ids.isEmpty());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "From date must not be after to date")
+    public boolean isDateRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+}
@@ -0,0 +1,15 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSyncChangeDto {
+
+    private Long expenseId;
+    private boolean deleted;
+    private ExpenseDto expense; // Current state; null for deletions
+}
@@ -0,0 +1,18 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSyncDto {
+
+    private List<ExpenseSyncChangeDto> changes; // Oldest first; apply in order
+    private String nextToken; // Pass as since on the next call; null when reset is set
+    private boolean hasMore;  // More changes are waiting; call again right away
+    private boolean reset;    // The token is too old: drop the local copy and sync again without a token
+}
@@ -0,0 +1,33 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One imported row; unlike CreateExpenseDto the category may be left out and is then predicted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportExpenseDto {
+
+    @NotBlank(message = "Description cannot be blank")
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Date cannot be null")
+    private LocalDate date;
+
+    @Size(max = 100, message = "Category must be less than 100 characters")
+    private String category;
+}
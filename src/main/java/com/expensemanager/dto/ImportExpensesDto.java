@@ -0,0 +1,21 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportExpensesDto {
+
+    @Valid
+    @NotEmpty(message = "Expenses cannot be empty")
+    @Size(max = 10000, message = "At most 10000 expenses can be imported at once")
+    private List<ImportExpenseDto> expenses;
+}
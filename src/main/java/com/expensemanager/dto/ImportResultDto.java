@@ -0,0 +1,16 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDto {
+
+    private int created;
+    private List<DuplicateDto> duplicates; // Flagged rows were created, rejected ones were not
+}
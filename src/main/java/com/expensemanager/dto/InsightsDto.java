@@ -0,0 +1,20 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InsightsDto {
+
+    private LocalDate month; // First day of the month described
+    private double relativeError; // Bound on |estimate - actual| / actual for every median and p90
+    private CategoryInsightDto overall;
+    private List<CategoryInsightDto> categories;
+    private List<ExpenseDto> topExpenses; // Exact, largest first
+}
@@ -0,0 +1,16 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberBalanceDto {
+
+    private String username;
+    private BigDecimal balance; // positive: is owed money, negative: owes money
+}
@@ -0,0 +1,23 @@
+package com.expensemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseDto {
+
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private String category;
+    private String schedule;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunDate; // null once the schedule has ended
+}
@@ -0,0 +1,21 @@
+package com.expensemanager.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetBudgetDto {
+
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 8 integer digits and 2 decimals")
+    private BigDecimal amount;
+}
@@ -0,0 +1,24 @@
+package com.expensemanager.dto;
+
+import com.expensemanager.entity.SplitRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SharedExpenseDto {
+
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private LocalDate date;
+    private String paidBy;
+    private SplitRule split;
+    private Map<String, BigDecimal> shares; // username -> amount owed to the payer
+}
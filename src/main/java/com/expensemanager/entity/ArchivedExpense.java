@@ -0,0 +1,45 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Cold tier for expenses past the archive horizon (see ExpenseArchiver). Same columns as expenses, but kept
+// out of the second-level cache and indexed for per-user, date-ordered reads only.
+@Entity
+@Table(name = "expenses_archive", indexes = @Index(name = "idx_expenses_archive_user_date", columnList = "user_id, date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedExpense {
+
+    @Id // Keeps the id the expense had in the hot table, so links and ETags stay valid
+    private Long id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "recurring_expense_id")
+    private Long recurringExpenseId;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
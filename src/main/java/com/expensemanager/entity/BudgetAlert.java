@@ -0,0 +1,52 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Outbox row written in the same transaction as the expense write that crossed a budget threshold;
+// BudgetAlertDispatcher delivers pending rows in batches and stamps dispatchedAt.
+@Entity
+@Table(name = "budget_alerts", indexes = {
+        @Index(name = "idx_budget_alerts_pending", columnList = "dispatched_at, id"),
+        @Index(name = "idx_budget_alerts_user", columnList = "user_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "threshold_percent", nullable = false)
+    private Integer thresholdPercent;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal spent;
+
+    @Column(name = "budget_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal budgetAmount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+}
@@ -0,0 +1,34 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Running spend per (user, category, month), kept up to date by BudgetService on every expense write
+@Entity
+@Table(name = "category_month_totals")
+@IdClass(CategoryMonthTotalId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthTotal {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Id
+    @Column(name = "month_start") // First day of the month
+    private LocalDate monthStart;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+}
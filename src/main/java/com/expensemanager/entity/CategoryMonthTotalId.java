@@ -0,0 +1,18 @@
+package com.expensemanager.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthTotalId implements Serializable {
+
+    private Long userId;
+    private Integer categoryId;
+    private LocalDate monthStart;
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses",
+        indexes = @Index(name = "idx_expenses_user_date", columnList = "user_id, date"),
+        // One expense per template occurrence, so generation can never double-insert; NULLs (manual expenses) never collide
+        uniqueConstraints = @UniqueConstraint(name = "uk_expenses_recurring_occurrence", columnNames = {"recurring_expense_id", "date"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "expenses")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,12 +35,20 @@ public class Expense {
     @Column(nullable = false)
     private LocalDate date;
 
-    @Column(nullable = false)
-    private String category;
+    @Column(name = "category_id", nullable = false) // References categories.id; names live in the category dictionary
+    private Integer categoryId;
 
     @ManyToOne(fetch = FetchType.LAZY) // Use FetchType.LAZY for performance
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(name = "recurring_expense_id") // Template that generated this expense, null when entered by hand
+    private Long recurringExpenseId;
+
+    // Optimistic lock: updates run as UPDATE ... WHERE id = ? AND version = ?, so concurrent edits fail instead of overwriting
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors, getters, and setters will be handled by Lombok
 }
@@ -0,0 +1,35 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Latest entry of an expense in its owner's change log (see ExpenseChangeLog): the sequence number of the last
+// write that touched it and whether that write deleted it. Deleted expenses keep their row as a tombstone.
+@Entity
+@Table(name = "expense_changes",
+        indexes = @Index(name = "idx_expense_changes_user_seq", columnList = "user_id, seq, expense_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseChange {
+
+    @Id
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long seq;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,26 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-user head of the change log: the last sequence number handed out, and the newest one whose tombstones
+// may have been purged. Sync tokens older than compactedThrough can no longer be served incrementally.
+@Entity
+@Table(name = "expense_change_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseChangeCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    @Column(name = "compacted_through", nullable = false)
+    private Long compactedThrough;
+}
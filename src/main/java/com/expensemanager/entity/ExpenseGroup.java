@@ -0,0 +1,22 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A set of users (family, team) who split expenses between them
+@Entity
+@Table(name = "expense_groups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseGroup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+}
@@ -0,0 +1,32 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "group_members", uniqueConstraints = @UniqueConstraint(columnNames = {"group_id", "user_id"}),
+        indexes = @Index(name = "idx_group_members_user", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private ExpenseGroup group;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Net position in the group: positive when the others owe this member, negative when the member owes.
+    // Maintained incrementally as shared expenses are added and removed; balances in a group always sum to zero.
+    @Column(name = "balance_cents", nullable = false)
+    private long balanceCents;
+}
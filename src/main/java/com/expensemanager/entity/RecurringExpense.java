@@ -0,0 +1,52 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Template for an expense that repeats on a schedule (rent, subscriptions); RecurringExpenseGenerator inserts the occurrences
+@Entity
+@Table(name = "recurring_expenses", indexes = {
+        // The generator's due scan: next_run_date <= today, in order
+        @Index(name = "idx_recurring_expenses_next_run", columnList = "next_run_date, id"),
+        @Index(name = "idx_recurring_expenses_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpense {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    // Spring cron expression or macro (@monthly, @weekly, ...), evaluated per day
+    @Column(nullable = false, length = 64)
+    private String schedule;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date") // Inclusive; null repeats indefinitely
+    private LocalDate endDate;
+
+    @Column(name = "next_run_date") // First occurrence not generated yet; null once the schedule has ended
+    private LocalDate nextRunDate;
+}
@@ -0,0 +1,27 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lease on a scheduled job shared by all instances (see ScheduledJobLocks): whoever holds an unexpired lease
+// runs the job, the others skip that firing.
+@Entity
+@Table(name = "scheduled_job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobLock {
+
+    @Id
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+}
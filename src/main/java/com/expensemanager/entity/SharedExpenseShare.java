@@ -0,0 +1,33 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Table(name = "shared_expense_shares", indexes = @Index(name = "idx_shared_expense_shares_expense", columnList = "shared_expense_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SharedExpenseShare {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shared_expense_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private SharedExpense sharedExpense;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+}
@@ -0,0 +1,8 @@
+package com.expensemanager.entity;
+
+// How a shared expense is divided between its participants
+public enum SplitRule {
+    EQUAL,  // same amount each; leftover cents go to the first participants
+    SHARES, // proportional to integer weights
+    EXACT   // explicit amounts that must add up to the total
+}
@@ -0,0 +1,12 @@
+package com.expensemanager.event;
+
+public enum ExpenseChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // Set-based changes to many expenses; previous/current are null and listeners rebuild per user
+    BULK_UPDATED,
+    BULK_DELETED,
+    // Occurrences inserted by RecurringExpenseGenerator for one user; previous/current are null
+    GENERATED
+}
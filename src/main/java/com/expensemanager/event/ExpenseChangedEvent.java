@@ -0,0 +1,21 @@
+package com.expensemanager.event;
+
+import com.expensemanager.dto.ExpenseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by ExpenseService (and RecurringExpenseGenerator) inside the write transaction. Listeners that maintain derived state
+// should use @TransactionalEventListener so they only observe committed changes.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExpenseChangedEvent {
+
+    private final ExpenseChangeType type;
+    private final Long userId;
+    private final String username;
+    private final long seq; // The user's change-log sequence number for this write (see ExpenseChangeLog)
+    private final ExpenseDto previous; // null for CREATED and bulk changes
+    private final ExpenseDto current;  // null for DELETED and bulk changes
+}
@@ -0,0 +1,11 @@
+package com.expensemanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT) // 409 Conflict
+public class DuplicateExpenseException extends RuntimeException {
+    public DuplicateExpenseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.expensemanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A well-formed request that does not make sense against current state (e.g. a split naming a non-member)
+@ResponseStatus(value = HttpStatus.BAD_REQUEST) // 400 Bad Request
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensemanager.ratelimit;
+
+import com.expensemanager.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One token bucket per principal (username, or client address before login). Buckets that have refilled
+ * completely are evicted periodically, so memory is bounded by the number of recently active principals.
+ */
+@Component
+public class PrincipalRateLimiter {
+
+    private final long capacity;
+    private final double tokensPerSecond;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public PrincipalRateLimiter(@Value("${ratelimit.capacity:50}") long capacity,
+                                @Value("${ratelimit.tokens-per-second:20}") double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    // Returns 0 if the request may proceed, otherwise the nanos until the principal has a token again
+    public long tryAcquire(String principal) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(principal);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(principal, key -> new TokenBucket(capacity, tokensPerSecond, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
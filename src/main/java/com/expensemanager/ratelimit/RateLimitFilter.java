@@ -0,0 +1,90 @@
+package com.expensemanager.ratelimit;
+
+import com.expensemanager.exception.ErrorDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-principal rate limit (429) and the per-endpoint-group bulkheads (503) to API requests.
+ * Registered in the security filter chain (see SecurityConfig) ahead of form login, so login attempts
+ * are limited per client address and everything else per authenticated user.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final PrincipalRateLimiter rateLimiter;
+    private final RequestBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(PrincipalRateLimiter rateLimiter, RequestBulkheads bulkheads,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestClass requestClass = RequestClass.of(request);
+
+        long waitNanos = rateLimiter.tryAcquire(principalKey(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(request, response, requestClass, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Rate limit exceeded");
+            return;
+        }
+        if (!bulkheads.tryEnter(requestClass)) {
+            reject(request, response, requestClass, HttpStatus.SERVICE_UNAVAILABLE, 1L,
+                    "Too many concurrent " + requestClass.name().toLowerCase() + " requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkheads.exit(requestClass);
+        }
+    }
+
+    private String principalKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RequestClass requestClass,
+                        HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        meterRegistry.counter("http.server.requests.rejected",
+                "status", String.valueOf(status.value()), "class", requestClass.name()).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), message, "uri=" + request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
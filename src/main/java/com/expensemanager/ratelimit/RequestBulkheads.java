@@ -0,0 +1,36 @@
+package com.expensemanager.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps concurrent requests per endpoint group so one kind of traffic (e.g. bulk operations) cannot take
+ * every worker thread and database connection. Permits are never waited for; callers fail fast instead.
+ */
+@Component
+public class RequestBulkheads {
+
+    private final Map<RequestClass, Semaphore> permits = new EnumMap<>(RequestClass.class);
+
+    public RequestBulkheads(@Value("${bulkhead.auth.max-concurrent:20}") int auth,
+                            @Value("${bulkhead.read.max-concurrent:100}") int read,
+                            @Value("${bulkhead.write.max-concurrent:50}") int write,
+                            @Value("${bulkhead.bulk.max-concurrent:4}") int bulk) {
+        permits.put(RequestClass.AUTH, new Semaphore(auth));
+        permits.put(RequestClass.READ, new Semaphore(read));
+        permits.put(RequestClass.WRITE, new Semaphore(write));
+        permits.put(RequestClass.BULK, new Semaphore(bulk));
+    }
+
+    public boolean tryEnter(RequestClass requestClass) {
+        return permits.get(requestClass).tryAcquire();
+    }
+
+    public void exit(RequestClass requestClass) {
+        permits.get(requestClass).release();
+    }
+}
@@ -0,0 +1,28 @@
+package com.expensemanager.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Endpoint groups that get their own concurrency bulkhead
+public enum RequestClass {
+    AUTH,
+    READ,
+    WRITE,
+    BULK;
+
+    public static RequestClass of(HttpServletRequest request) {
+        return of(request.getMethod(), request.getRequestURI());
+    }
+
+    public static RequestClass of(String method, String uri) {
+        if (uri.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (uri.contains("/bulk")) {
+            return BULK;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,42 @@
+package com.expensemanager.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Fully non-blocking variant of the expense API: WebFlux on Netty, R2DBC repositories and reactive security.
+ * Selected with the "reactive" profile, e.g. {@code --spring.profiles.active=reactive}; the default entry point
+ * (ExpenseManagerApplication) hands over to this class when that profile is active.
+ *
+ * <p>Only the {@code com.expensemanager.reactive} package is scanned. DTOs, validation rules and exceptions are
+ * shared with the servlet stack; every component in this package is restricted to the reactive profile so the
+ * servlet application ignores it.
+ */
+@Profile("reactive")
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveExpenseManagerApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static ConfigurableApplicationContext run(String[] args) {
+        return new SpringApplicationBuilder(ReactiveExpenseManagerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+
+    // Resolves spring.profiles.active from the command line, system properties and environment variables
+    public static boolean isRequested(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.acceptsProfiles(Profiles.of(PROFILE));
+    }
+}
@@ -0,0 +1,26 @@
+package com.expensemanager.reactive.config;
+
+import com.expensemanager.config.BinaryFormatsConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Reactive counterpart of BinaryFormatsConfig. Only Smile: WebFlux's CBOR encoder cannot stream the export.
+@Configuration
+@Profile("reactive")
+public class ReactiveCodecsConfig {
+
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = BinaryFormatsConfig.smile(builder).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(mapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(mapper));
+        };
+    }
+}
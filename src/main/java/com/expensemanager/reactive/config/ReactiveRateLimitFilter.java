@@ -0,0 +1,90 @@
+package com.expensemanager.reactive.config;
+
+import com.expensemanager.exception.ErrorDetails;
+import com.expensemanager.ratelimit.PrincipalRateLimiter;
+import com.expensemanager.ratelimit.RequestBulkheads;
+import com.expensemanager.ratelimit.RequestClass;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Reactive counterpart of RateLimitFilter sharing the same limiter and bulkheads
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final PrincipalRateLimiter rateLimiter;
+    private final RequestBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveRateLimitFilter(PrincipalRateLimiter rateLimiter, RequestBulkheads bulkheads, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        RequestClass requestClass = RequestClass.of(exchange.getRequest().getMethod().name(), path);
+        return principalKey(exchange).flatMap(principal -> {
+            long waitNanos = rateLimiter.tryAcquire(principal);
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "Rate limit exceeded");
+            }
+            if (!bulkheads.tryEnter(requestClass)) {
+                return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, 1L,
+                        "Too many concurrent " + requestClass.name().toLowerCase() + " requests");
+            }
+            // Released when the response completes, errors or the client cancels (e.g. an abandoned stream)
+            return chain.filter(exchange).doFinally(signal -> bulkheads.exit(requestClass));
+        });
+    }
+
+    private Mono<String> principalKey(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(Authentication::getName)
+                .map(name -> "user:" + name)
+                .defaultIfEmpty("ip:" + remoteAddress(exchange));
+    }
+
+    private String remoteAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, long retryAfterSeconds, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), message,
+                "uri=" + exchange.getRequest().getPath().value());
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(errorDetails);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.expensemanager.reactive.config;
+
+import com.expensemanager.config.SchedulingConfig;
+import com.expensemanager.ratelimit.PrincipalRateLimiter;
+import com.expensemanager.ratelimit.RequestBulkheads;
+import com.expensemanager.reactive.service.ReactiveUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationFailureHandler;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.authentication.logout.RedirectServerLogoutSuccessHandler;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+import java.net.URI;
+
+// Reactive equivalent of SecurityConfig: same public endpoints, form login/logout URLs, redirects and throttling
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+@Import({PrincipalRateLimiter.class, RequestBulkheads.class, SchedulingConfig.class})
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // ReactiveUserService needs the password encoder, so it is injected per bean method rather than into the config
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(ReactiveUserService userService) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userService);
+        authenticationManager.setPasswordEncoder(passwordEncoder());
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager authenticationManager,
+                                                         PrincipalRateLimiter rateLimiter, RequestBulkheads bulkheads,
+                                                         ObjectMapper objectMapper) {
+        RedirectServerLogoutSuccessHandler logoutSuccessHandler = new RedirectServerLogoutSuccessHandler();
+        logoutSuccessHandler.setLogoutSuccessUrl(URI.create("/api/auth/login?logout=true"));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/auth/register", "/api/auth/login", "/error").permitAll()
+                        .anyExchange().authenticated()
+                )
+                .formLogin(formLogin -> formLogin
+                        .loginPage("/api/auth/login")
+                        .authenticationManager(authenticationManager)
+                        .authenticationSuccessHandler(new RedirectServerAuthenticationSuccessHandler("/api/users/profile"))
+                        .authenticationFailureHandler(new RedirectServerAuthenticationFailureHandler("/api/auth/login?error=true"))
+                )
+                .logout(logout -> logout
+                        .requiresLogout(ServerWebExchangeMatchers.pathMatchers("/api/auth/logout"))
+                        .logoutSuccessHandler(logoutSuccessHandler)
+                )
+                .addFilterBefore(new ReactiveRateLimitFilter(rateLimiter, bulkheads, objectMapper),
+                        SecurityWebFiltersOrder.FORM_LOGIN)
+                .build();
+    }
+}
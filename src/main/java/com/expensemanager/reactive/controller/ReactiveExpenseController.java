@@ -0,0 +1,83 @@
+package com.expensemanager.reactive.controller;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.reactive.service.ReactiveExpenseService;
+import com.expensemanager.util.VersionETag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/expenses")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService expenseService;
+
+    @Autowired
+    public ReactiveExpenseController(ReactiveExpenseService expenseService) {
+        this.expenseService = expenseService;
+    }
+
+    private Mono<String> getCurrentUsername() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .switchIfEmpty(Mono.error(() ->
+                        new IllegalStateException("User not authenticated or authentication details not found.")));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ExpenseDto>> createExpense(@Valid @RequestBody CreateExpenseDto createExpenseDto) {
+        return getCurrentUsername()
+                .flatMap(username -> expenseService.createExpense(createExpenseDto, username))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).eTag(VersionETag.of(created.getVersion())).body(created));
+    }
+
+    // JSON array for existing clients; rows are still encoded as they are read
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<ExpenseDto> getAllExpensesForCurrentUser() {
+        return getCurrentUsername().flatMapMany(expenseService::getExpensesByUsername);
+    }
+
+    // Newline-delimited JSON, or a Smile value stream (amounts in cents): one flushed record per expense, paced by
+    // the client's read rate
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "application/stream+x-jackson-smile"})
+    public Flux<ExpenseDto> exportExpensesForCurrentUser() {
+        return getCurrentUsername().flatMapMany(expenseService::exportExpensesByUsername);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ExpenseDto>> getExpenseById(@PathVariable Long id) {
+        return getCurrentUsername()
+                .flatMap(username -> expenseService.getExpenseByIdAndUsername(id, username))
+                .map(expense -> ResponseEntity.ok().eTag(VersionETag.of(expense.getVersion())).body(expense));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ExpenseDto>> updateExpense(@PathVariable Long id, @Valid @RequestBody CreateExpenseDto createExpenseDto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return getCurrentUsername()
+                .flatMap(username -> expenseService.updateExpense(id, createExpenseDto, username, VersionETag.parseIfMatch(ifMatch)))
+                .map(updated -> ResponseEntity.ok().eTag(VersionETag.of(updated.getVersion())).body(updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteExpense(@PathVariable Long id) {
+        return getCurrentUsername()
+                .flatMap(username -> expenseService.deleteExpense(id, username))
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.expensemanager.reactive.controller;
+
+import com.expensemanager.dto.UserRegistrationDto;
+import com.expensemanager.dto.UserViewDto;
+import com.expensemanager.reactive.service.ReactiveUserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// Registration and profile endpoints; login and logout are handled by ReactiveSecurityConfig
+@RestController
+@Profile("reactive")
+@RequestMapping("/api")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    @Autowired
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping("/auth/register")
+    public Mono<ResponseEntity<UserViewDto>> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
+        return userService.registerUser(registrationDto)
+                .map(registeredUser -> new ResponseEntity<>(registeredUser, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/users/profile")
+    public Mono<UserViewDto> getCurrentUserProfile() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .flatMap(userService::getProfile);
+    }
+}
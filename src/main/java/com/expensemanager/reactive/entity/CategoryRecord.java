@@ -0,0 +1,18 @@
+package com.expensemanager.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("categories")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRecord {
+
+    @Id
+    private Integer id;
+    private String name;
+}
@@ -0,0 +1,35 @@
+package com.expensemanager.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Flat R2DBC mapping of the expenses table; relations are plain id columns
+@Table("expenses")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRecord {
+
+    @Id
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private LocalDate date;
+
+    @Column("category_id")
+    private Integer categoryId;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,21 @@
+package com.expensemanager.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the users table (see db/reactive-schema.sql)
+@Table("users")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRecord {
+
+    @Id
+    private Long id;
+    private String username;
+    private String password;
+    private String email;
+}
@@ -0,0 +1,90 @@
+package com.expensemanager.reactive.exception;
+
+import com.expensemanager.exception.ErrorDetails;
+import com.expensemanager.exception.PreconditionFailedException;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.exception.UserAlreadyExistsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Same status codes and ErrorDetails body as GlobalExceptionHandler, for the reactive stack
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException ex, ServerWebExchange exchange) {
+        return error(ex.getMessage(), exchange, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<ErrorDetails> handleUserAlreadyExistsException(UserAlreadyExistsException ex, ServerWebExchange exchange) {
+        return error(ex.getMessage(), exchange, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(UsernameNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleUsernameNotFoundException(UsernameNotFoundException ex, ServerWebExchange exchange) {
+        return error(ex.getMessage(), exchange, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionFailedException(PreconditionFailedException ex, ServerWebExchange exchange) {
+        return error(ex.getMessage(), exchange, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetails> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+        return error("The resource was modified concurrently; reload it and retry", exchange, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorDetails> handleAccessDeniedException(AccessDeniedException ex, ServerWebExchange exchange) {
+        return error(ex.getMessage(), exchange, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDetails> handleGlobalException(Exception ex, ServerWebExchange exchange) {
+        return error("An unexpected internal server error occurred.", exchange, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // Override to handle @Valid validation errors from DTOs
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex,
+                                                                         HttpHeaders headers,
+                                                                         HttpStatusCode status,
+                                                                         ServerWebExchange exchange) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            errors.put(fieldName, error.getDefaultMessage());
+        });
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), "Validation Failed", description(exchange), errors);
+        return Mono.just(new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST));
+    }
+
+    private ResponseEntity<ErrorDetails> error(String message, ServerWebExchange exchange, HttpStatus status) {
+        return new ResponseEntity<>(new ErrorDetails(LocalDateTime.now(), message, description(exchange)), status);
+    }
+
+    // Matches WebRequest.getDescription(false) on the servlet stack
+    private String description(ServerWebExchange exchange) {
+        return "uri=" + exchange.getRequest().getPath().value();
+    }
+}
@@ -0,0 +1,14 @@
+package com.expensemanager.reactive.repository;
+
+import com.expensemanager.reactive.entity.CategoryRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public interface CategoryRecordRepository extends R2dbcRepository<CategoryRecord, Integer> {
+
+    Mono<CategoryRecord> findByName(String name);
+}
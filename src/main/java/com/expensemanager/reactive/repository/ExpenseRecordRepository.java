@@ -0,0 +1,16 @@
+package com.expensemanager.reactive.repository;
+
+import com.expensemanager.reactive.entity.ExpenseRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+@Profile("reactive")
+public interface ExpenseRecordRepository extends R2dbcRepository<ExpenseRecord, Long> {
+
+    Flux<ExpenseRecord> findByUserId(Long userId);
+
+    Flux<ExpenseRecord> findByUserIdOrderByDateDesc(Long userId);
+}
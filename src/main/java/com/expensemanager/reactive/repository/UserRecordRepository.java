@@ -0,0 +1,17 @@
+package com.expensemanager.reactive.repository;
+
+import com.expensemanager.reactive.entity.UserRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public interface UserRecordRepository extends R2dbcRepository<UserRecord, Long> {
+
+    Mono<UserRecord> findByUsername(String username);
+
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
+}
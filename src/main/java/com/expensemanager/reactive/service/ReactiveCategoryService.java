@@ -0,0 +1,60 @@
+package com.expensemanager.reactive.service;
+
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.reactive.entity.CategoryRecord;
+import com.expensemanager.reactive.repository.CategoryRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Non-blocking counterpart of CategoryService: same in-memory dictionary, loaded lazily per name/id
+@Service
+@Profile("reactive")
+public class ReactiveCategoryService {
+
+    private final CategoryRecordRepository categoryRepository;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReactiveCategoryService(CategoryRecordRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public Mono<Integer> resolveId(String name) {
+        String normalized = name.trim();
+        Integer id = idsByName.get(normalized);
+        if (id != null) {
+            return Mono.just(id);
+        }
+        return categoryRepository.findByName(normalized)
+                .switchIfEmpty(Mono.defer(() -> categoryRepository.save(new CategoryRecord(null, normalized))))
+                // Lost a race with a concurrent insert of the same name
+                .onErrorResume(DataIntegrityViolationException.class, e -> categoryRepository.findByName(normalized))
+                .map(this::cache)
+                .map(CategoryRecord::getId);
+    }
+
+    public Mono<String> getName(Integer id) {
+        String name = namesById.get(id);
+        if (name != null) {
+            return Mono.just(name);
+        }
+        return categoryRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Category not found with id: " + id)))
+                .map(this::cache)
+                .map(CategoryRecord::getName);
+    }
+
+    private CategoryRecord cache(CategoryRecord category) {
+        idsByName.put(category.getName(), category.getId());
+        namesById.put(category.getId(), category.getName());
+        return category;
+    }
+}
@@ -0,0 +1,125 @@
+package com.expensemanager.reactive.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.exception.PreconditionFailedException;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.reactive.entity.ExpenseRecord;
+import com.expensemanager.reactive.entity.UserRecord;
+import com.expensemanager.reactive.repository.ExpenseRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+// Non-blocking counterpart of ExpenseService with the same ownership rules and error messages
+@Service
+@Profile("reactive")
+public class ReactiveExpenseService {
+
+    private final ExpenseRecordRepository expenseRepository;
+    private final ReactiveUserService userService;
+    private final ReactiveCategoryService categoryService;
+
+    @Autowired
+    public ReactiveExpenseService(ExpenseRecordRepository expenseRepository, ReactiveUserService userService,
+                                  ReactiveCategoryService categoryService) {
+        this.expenseRepository = expenseRepository;
+        this.userService = userService;
+        this.categoryService = categoryService;
+    }
+
+    @Transactional
+    public Mono<ExpenseDto> createExpense(CreateExpenseDto expenseDto, String username) {
+        return userService.findUser(username)
+                .zipWith(categoryService.resolveId(expenseDto.getCategory()))
+                .flatMap(userAndCategory -> {
+                    ExpenseRecord expense = new ExpenseRecord();
+                    expense.setDescription(expenseDto.getDescription());
+                    expense.setAmount(expenseDto.getAmount());
+                    expense.setDate(expenseDto.getDate());
+                    expense.setCategoryId(userAndCategory.getT2());
+                    expense.setUserId(userAndCategory.getT1().getId());
+                    return expenseRepository.save(expense);
+                })
+                .flatMap(this::mapToDto);
+    }
+
+    // Rows are streamed from the driver as they arrive; demand from the client propagates to the query
+    public Flux<ExpenseDto> getExpensesByUsername(String username) {
+        return userService.findUser(username)
+                .flatMapMany(user -> expenseRepository.findByUserId(user.getId()))
+                .concatMap(this::mapToDto);
+    }
+
+    public Flux<ExpenseDto> exportExpensesByUsername(String username) {
+        return userService.findUser(username)
+                .flatMapMany(user -> expenseRepository.findByUserIdOrderByDateDesc(user.getId()))
+                .concatMap(this::mapToDto);
+    }
+
+    public Mono<ExpenseDto> getExpenseByIdAndUsername(Long expenseId, String username) {
+        return findOwnedExpense(expenseId, username, "You are not authorized to view this expense")
+                .flatMap(this::mapToDto);
+    }
+
+    // Saving a versioned record issues UPDATE ... WHERE id = ? AND version = ?, as on the servlet stack
+    @Transactional
+    public Mono<ExpenseDto> updateExpense(Long expenseId, CreateExpenseDto expenseDto, String username, Set<Long> expectedVersions) {
+        return findOwnedExpense(expenseId, username, "You are not authorized to update this expense")
+                .flatMap(expense -> {
+                    if (expectedVersions != null && !expectedVersions.contains(expense.getVersion())) {
+                        return Mono.error(new PreconditionFailedException("Expense with id " + expenseId
+                                + " has been modified (current version " + expense.getVersion() + ")"));
+                    }
+                    return Mono.just(expense);
+                })
+                .zipWith(categoryService.resolveId(expenseDto.getCategory()))
+                .flatMap(expenseAndCategory -> {
+                    ExpenseRecord expense = expenseAndCategory.getT1();
+                    expense.setDescription(expenseDto.getDescription());
+                    expense.setAmount(expenseDto.getAmount());
+                    expense.setDate(expenseDto.getDate());
+                    expense.setCategoryId(expenseAndCategory.getT2());
+                    return expenseRepository.save(expense);
+                })
+                .flatMap(this::mapToDto);
+    }
+
+    @Transactional
+    public Mono<Void> deleteExpense(Long expenseId, String username) {
+        return findOwnedExpense(expenseId, username, "You are not authorized to delete this expense")
+                .flatMap(expenseRepository::delete);
+    }
+
+    private Mono<ExpenseRecord> findOwnedExpense(Long expenseId, String username, String deniedMessage) {
+        return userService.findUser(username)
+                .zipWith(expenseRepository.findById(expenseId)
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId))))
+                .flatMap(userAndExpense -> {
+                    UserRecord user = userAndExpense.getT1();
+                    ExpenseRecord expense = userAndExpense.getT2();
+                    if (!expense.getUserId().equals(user.getId())) {
+                        return Mono.error(new AccessDeniedException(deniedMessage));
+                    }
+                    return Mono.just(expense);
+                });
+    }
+
+    private Mono<ExpenseDto> mapToDto(ExpenseRecord expense) {
+        return categoryService.getName(expense.getCategoryId())
+                .map(category -> new ExpenseDto(
+                        expense.getId(),
+                        expense.getDescription(),
+                        expense.getAmount(),
+                        expense.getDate(),
+                        category,
+                        expense.getVersion()
+                ));
+    }
+}
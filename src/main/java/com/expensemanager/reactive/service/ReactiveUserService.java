@@ -0,0 +1,70 @@
+package com.expensemanager.reactive.service;
+
+import com.expensemanager.dto.UserRegistrationDto;
+import com.expensemanager.dto.UserViewDto;
+import com.expensemanager.exception.UserAlreadyExistsException;
+import com.expensemanager.reactive.entity.UserRecord;
+import com.expensemanager.reactive.repository.UserRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserService implements ReactiveUserDetailsService {
+
+    private final UserRecordRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Autowired
+    public ReactiveUserService(UserRecordRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Transactional
+    public Mono<UserViewDto> registerUser(UserRegistrationDto registrationDto) {
+        return userRepository.existsByUsername(registrationDto.getUsername())
+                .flatMap(usernameTaken -> usernameTaken
+                        ? Mono.error(new UserAlreadyExistsException("Username already exists: " + registrationDto.getUsername()))
+                        : userRepository.existsByEmail(registrationDto.getEmail()))
+                .flatMap(emailTaken -> emailTaken
+                        ? Mono.error(new UserAlreadyExistsException("Email already exists: " + registrationDto.getEmail()))
+                        // BCrypt is CPU-bound by design; keep it off the event loop
+                        : Mono.fromCallable(() -> passwordEncoder.encode(registrationDto.getPassword()))
+                                .subscribeOn(Schedulers.parallel()))
+                .flatMap(encodedPassword -> userRepository.save(new UserRecord(null, registrationDto.getUsername(),
+                        encodedPassword, registrationDto.getEmail())))
+                .map(this::toView);
+    }
+
+    public Mono<UserRecord> findUser(String username) {
+        return userRepository.findByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found with username: " + username)));
+    }
+
+    public Mono<UserViewDto> getProfile(String username) {
+        return findUser(username).map(this::toView);
+    }
+
+    // Used by reactive form login, mirrors CustomUserDetailsService
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return findUser(username)
+                .map(user -> new User(user.getUsername(), user.getPassword(), new ArrayList<>()));
+    }
+
+    private UserViewDto toView(UserRecord user) {
+        return new UserViewDto(user.getId(), user.getUsername(), user.getEmail());
+    }
+}
@@ -0,0 +1,26 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ArchivedExpense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedExpenseRepository extends JpaRepository<ArchivedExpense, Long> {
+
+    List<ArchivedExpense> findByUserId(Long userId);
+
+    // Null bounds are open
+    @Query("select a from ArchivedExpense a where a.user.id = :userId " +
+            "and (:from is null or a.date >= :from) and (:to is null or a.date <= :to)")
+    List<ArchivedExpense> findByUserIdAndDateRange(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    @Query("select a.categoryId as categoryId, sum(a.amount) as total from ArchivedExpense a " +
+            "where a.user.id = :userId group by a.categoryId")
+    List<CategoryTotal> sumAmountByCategory(@Param("userId") Long userId);
+}
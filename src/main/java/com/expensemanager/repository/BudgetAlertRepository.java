@@ -0,0 +1,26 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    @Query("select a from BudgetAlert a join fetch a.user where a.dispatchedAt is null order by a.id")
+    List<BudgetAlert> findPending(Pageable pageable);
+
+    List<BudgetAlert> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("update BudgetAlert a set a.dispatchedAt = :dispatchedAt where a.id in :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+}
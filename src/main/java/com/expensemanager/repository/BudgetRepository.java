@@ -0,0 +1,22 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserId(Long userId);
+
+    Optional<Budget> findByUserIdAndCategoryId(Long userId, Integer categoryId);
+
+    @Query("select b.amount from Budget b where b.user.id = :userId and b.categoryId = :categoryId")
+    Optional<BigDecimal> findAmount(@Param("userId") Long userId, @Param("categoryId") Integer categoryId);
+}
@@ -0,0 +1,50 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.CategoryMonthTotal;
+import com.expensemanager.entity.CategoryMonthTotalId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMonthTotalRepository extends JpaRepository<CategoryMonthTotal, CategoryMonthTotalId> {
+
+    // Relative update, so concurrent writers serialize on the row instead of overwriting each other
+    @Modifying
+    @Query("update CategoryMonthTotal t set t.total = t.total + :delta " +
+            "where t.userId = :userId and t.categoryId = :categoryId and t.monthStart = :monthStart")
+    int addToTotal(@Param("userId") Long userId, @Param("categoryId") Integer categoryId,
+                   @Param("monthStart") LocalDate monthStart, @Param("delta") BigDecimal delta);
+
+    // Scalar query, so it reads the row as updated by addToTotal rather than an entity cached before it
+    @Query("select t.total from CategoryMonthTotal t " +
+            "where t.userId = :userId and t.categoryId = :categoryId and t.monthStart = :monthStart")
+    Optional<BigDecimal> findTotal(@Param("userId") Long userId, @Param("categoryId") Integer categoryId,
+                                   @Param("monthStart") LocalDate monthStart);
+
+    @Modifying
+    @Query("update CategoryMonthTotal t set t.total = :total " +
+            "where t.userId = :userId and t.categoryId = :categoryId and t.monthStart = :monthStart")
+    int setTotal(@Param("userId") Long userId, @Param("categoryId") Integer categoryId,
+                 @Param("monthStart") LocalDate monthStart, @Param("total") BigDecimal total);
+
+    @Modifying
+    @Query("update CategoryMonthTotal t set t.total = 0 where t.userId = :userId")
+    int resetTotals(@Param("userId") Long userId);
+
+    // Recomputes per-month sums from the expense tables (hot and archive) for rebuilds
+    @Query("select e.categoryId, year(e.date), month(e.date), sum(e.amount) from Expense e " +
+            "where e.user.id = :userId group by e.categoryId, year(e.date), month(e.date)")
+    List<Object[]> sumExpensesByCategoryAndMonth(@Param("userId") Long userId);
+
+    @Query("select a.categoryId, year(a.date), month(a.date), sum(a.amount) from ArchivedExpense a " +
+            "where a.user.id = :userId group by a.categoryId, year(a.date), month(a.date)")
+    List<Object[]> sumArchivedExpensesByCategoryAndMonth(@Param("userId") Long userId);
+}
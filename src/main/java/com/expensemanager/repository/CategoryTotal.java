@@ -0,0 +1,11 @@
+package com.expensemanager.repository;
+
+import java.math.BigDecimal;
+
+// Projection for per-category aggregates; grouping happens on the integer category id
+public interface CategoryTotal {
+
+    Integer getCategoryId();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,32 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ExpenseChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExpenseChangeCounterRepository extends JpaRepository<ExpenseChangeCounter, Long> {
+
+    // Relative update: the row stays locked until commit, so a user's writes commit in sequence order
+    @Modifying
+    @Query("update ExpenseChangeCounter c set c.lastSeq = c.lastSeq + 1 where c.userId = :userId")
+    int increment(@Param("userId") Long userId);
+
+    // Locks the row like increment but leaves it unchanged
+    @Modifying
+    @Query("update ExpenseChangeCounter c set c.lastSeq = c.lastSeq where c.userId = :userId")
+    int lock(@Param("userId") Long userId);
+
+    @Query("select c.lastSeq from ExpenseChangeCounter c where c.userId = :userId")
+    Long findLastSeq(@Param("userId") Long userId);
+
+    @Query("select c.lastSeq from ExpenseChangeCounter c where c.userId = (select u.id from User u where u.username = :username)")
+    Long findLastSeqByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("update ExpenseChangeCounter c set c.compactedThrough = :seq where c.userId = :userId and c.compactedThrough < :seq")
+    int advanceCompactedThrough(@Param("userId") Long userId, @Param("seq") Long seq);
+}
@@ -0,0 +1,35 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ExpenseChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExpenseChangeRepository extends JpaRepository<ExpenseChange, Long> {
+
+    @Modifying
+    @Query("update ExpenseChange c set c.seq = :seq, c.deleted = :deleted, c.changedAt = :changedAt where c.expenseId = :expenseId")
+    int mark(@Param("expenseId") Long expenseId, @Param("seq") Long seq, @Param("deleted") boolean deleted,
+             @Param("changedAt") LocalDateTime changedAt);
+
+    // Keyset over (seq, expense_id) on idx_expense_changes_user_seq; one write can stamp many rows with the same seq
+    @Query("select c from ExpenseChange c where c.userId = :userId " +
+            "and (c.seq > :seq or (c.seq = :seq and c.expenseId > :afterExpenseId)) order by c.seq, c.expenseId")
+    List<ExpenseChange> findPage(@Param("userId") Long userId, @Param("seq") Long seq,
+                                 @Param("afterExpenseId") Long afterExpenseId, Pageable pageable);
+
+    // userId and newest tombstone sequence number, for users with tombstones older than the cutoff
+    @Query("select c.userId, max(c.seq) from ExpenseChange c where c.deleted = true and c.changedAt < :cutoff group by c.userId")
+    List<Object[]> findExpiredTombstoneHeads(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from ExpenseChange c where c.userId = :userId and c.deleted = true and c.seq <= :seq")
+    int deleteTombstonesThrough(@Param("userId") Long userId, @Param("seq") Long seq);
+}
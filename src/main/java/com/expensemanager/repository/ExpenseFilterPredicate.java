@@ -0,0 +1,60 @@
+package com.expensemanager.repository;
+
+import jakarta.persistence.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An expense filter rendered as an HQL predicate, always scoped to one user. Expense and ArchivedExpense map
+ * the same property names, so one predicate can drive statements against both tables.
+ */
+public final class ExpenseFilterPredicate {
+
+    private final Map<String, String> conditions = new LinkedHashMap<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    private ExpenseFilterPredicate() {
+    }
+
+    // Null or empty criteria are left out
+    public static ExpenseFilterPredicate forUser(Long userId, LocalDate from, LocalDate to,
+                                                 Collection<Integer> categoryIds, Collection<Long> ids) {
+        ExpenseFilterPredicate predicate = new ExpenseFilterPredicate();
+        predicate.add("userId", userId, "%s.user.id = :userId");
+        predicate.add("from", from, "%s.date >= :from");
+        predicate.add("to", to, "%s.date <= :to");
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            predicate.add("categoryIds", categoryIds, "%s.categoryId in :categoryIds");
+        }
+        if (ids != null && !ids.isEmpty()) {
+            predicate.add("ids", ids, "%s.id in :ids");
+        }
+        return predicate;
+    }
+
+    private void add(String name, Object value, String condition) {
+        if (value != null) {
+            conditions.put(name, condition);
+            parameters.put(name, value);
+        }
+    }
+
+    public String where(String alias) {
+        StringBuilder where = new StringBuilder();
+        for (String condition : conditions.values()) {
+            if (where.length() > 0) {
+                where.append(" and ");
+            }
+            where.append(String.format(condition, alias));
+        }
+        return where.toString();
+    }
+
+    public <Q extends Query> Q bind(Q query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,16 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ExpenseGroup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExpenseGroupRepository extends JpaRepository<ExpenseGroup, Long> {
+
+    @Query("select m.group from GroupMember m where m.user.id = :userId order by m.group.id")
+    List<ExpenseGroup> findByMemberUserId(@Param("userId") Long userId);
+}
@@ -1,13 +1,49 @@
 package com.expensemanager.repository;
 
 import com.expensemanager.entity.Expense;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Expense> findByUserId(Long userId);
+
+    // Null bounds are open; served by the (user_id, date) index
+    @Query("select e from Expense e where e.user.id = :userId " +
+            "and (:from is null or e.date >= :from) and (:to is null or e.date <= :to)")
+    List<Expense> findByUserIdAndDateRange(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Query("select e.categoryId as categoryId, sum(e.amount) as total from Expense e " +
+            "where e.user.id = :userId group by e.categoryId")
+    List<CategoryTotal> sumAmountByCategory(@Param("userId") Long userId);
+
+    // id, amount, date, description rows for the duplicate index; no entities are hydrated or cached
+    @Query("select e.id, e.amount, e.date, e.description from Expense e where e.user.username = :username")
+    List<Object[]> findFingerprintRows(@Param("username") String username);
+
+    // Same rows in date order, fetched in chunks; needs an open transaction while the stream is consumed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e.id, e.amount, e.date, e.description from Expense e where e.user.username = :username " +
+            "order by e.date, e.id")
+    Stream<Object[]> streamFingerprintRows(@Param("username") String username);
+
+    // categoryId, description, amount rows that train the category classifier
+    @Query("select e.categoryId, e.description, e.amount from Expense e where e.user.username = :username")
+    List<Object[]> findTrainingRows(@Param("username") String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.categoryId, e.description, e.amount from Expense e")
+    Stream<Object[]> streamAllTrainingRows();
 }
@@ -0,0 +1,9 @@
+package com.expensemanager.repository;
+
+public interface ExpenseRepositoryCustom {
+
+    // Both return the number of rows changed across the hot and archive tables
+    int updateCategoryMatching(ExpenseFilterPredicate filter, Integer categoryId);
+
+    int deleteMatching(ExpenseFilterPredicate filter);
+}
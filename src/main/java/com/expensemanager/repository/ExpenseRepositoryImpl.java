@@ -0,0 +1,34 @@
+package com.expensemanager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ExpenseRepositoryImpl implements ExpenseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One set-based statement per table; "versioned" bumps each row's version so stale If-Match writes fail.
+    // Bulk HQL also invalidates the expenses cache region and any cached query results over the table.
+    @Override
+    public int updateCategoryMatching(ExpenseFilterPredicate filter, Integer categoryId) {
+        int updated = 0;
+        for (String entity : new String[]{"Expense", "ArchivedExpense"}) {
+            updated += filter.bind(entityManager.createQuery(
+                            "update versioned " + entity + " x set x.categoryId = :categoryId where " + filter.where("x")))
+                    .setParameter("categoryId", categoryId)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    @Override
+    public int deleteMatching(ExpenseFilterPredicate filter) {
+        int deleted = 0;
+        for (String entity : new String[]{"Expense", "ArchivedExpense"}) {
+            deleted += filter.bind(entityManager.createQuery("delete from " + entity + " x where " + filter.where("x")))
+                    .executeUpdate();
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,26 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.GroupMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GroupMemberRepository extends JpaRepository<GroupMember, Long> {
+
+    // One row per member: balance reads never touch the group's expenses
+    @Query("select m from GroupMember m join fetch m.user where m.group.id = :groupId order by m.user.id")
+    List<GroupMember> findByGroupIdWithUser(@Param("groupId") Long groupId);
+
+    boolean existsByGroupIdAndUserId(Long groupId, Long userId);
+
+    // Relative update, so concurrent expenses in the same group never overwrite each other's changes
+    @Modifying
+    @Query("update GroupMember m set m.balanceCents = m.balanceCents + :delta " +
+            "where m.group.id = :groupId and m.user.id = :userId")
+    int addToBalance(@Param("groupId") Long groupId, @Param("userId") Long userId, @Param("delta") long delta);
+}
@@ -0,0 +1,20 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.RecurringExpense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    List<RecurringExpense> findByUserIdOrderById(Long userId);
+
+    // Oldest pending occurrence across all templates; reads the first entry of the next-run index
+    @Query("select min(r.nextRunDate) from RecurringExpense r")
+    Optional<LocalDate> findEarliestNextRunDate();
+}
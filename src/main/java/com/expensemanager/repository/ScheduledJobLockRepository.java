@@ -0,0 +1,25 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    // Conditional update: of several instances racing for an expired lease, only one sees a row changed
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedUntil = :until, l.lockedBy = :owner " +
+            "where l.name = :name and l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
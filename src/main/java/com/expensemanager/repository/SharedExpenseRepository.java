@@ -0,0 +1,13 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.SharedExpense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SharedExpenseRepository extends JpaRepository<SharedExpense, Long> {
+
+    Optional<SharedExpense> findByIdAndGroupId(Long id, Long groupId);
+}
@@ -7,8 +7,9 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+    // Implemented in UserRepositoryImpl as a natural-id lookup so it is served from the second-level cache
     Optional<User> findByUsername(String username);
 
     // Adding existsByUsername and existsByEmail for registration validation
@@ -0,0 +1,10 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+}
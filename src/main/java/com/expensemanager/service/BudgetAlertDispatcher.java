@@ -0,0 +1,72 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BudgetAlertDto;
+import com.expensemanager.entity.BudgetAlert;
+import com.expensemanager.repository.BudgetAlertRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the budget_alerts outbox. Alerts are written in the expense transaction and only sent from here, so the
+ * write path never waits on a notification channel. Delivery is at-least-once: a batch is marked dispatched in the
+ * same transaction that read it, after sending, so a crash in between sends the batch again.
+ */
+@Service
+public class BudgetAlertDispatcher {
+
+    private final BudgetAlertRepository alertRepository;
+    private final BudgetService budgetService;
+    private final BudgetAlertSender sender;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+
+    @Autowired
+    public BudgetAlertDispatcher(BudgetAlertRepository alertRepository, BudgetService budgetService,
+                                 BudgetAlertSender sender, PlatformTransactionManager transactionManager,
+                                 @Value("${budget.alerts.batch-size:100}") int batchSize) {
+        this.alertRepository = alertRepository;
+        this.budgetService = budgetService;
+        this.sender = sender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Returns how many alerts were sent
+    @Scheduled(fixedDelayString = "${budget.alerts.dispatch-interval-ms:5000}")
+    public int dispatchPendingAlerts() {
+        int dispatched = 0;
+        while (true) {
+            Integer sent = transaction.execute(status -> dispatchBatch());
+            dispatched += sent;
+            if (sent < batchSize) {
+                return dispatched;
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        List<BudgetAlert> pending = alertRepository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // One send per user per batch, in alert order
+        Map<String, List<BudgetAlertDto>> byUser = pending.stream()
+                .collect(Collectors.groupingBy(alert -> alert.getUser().getUsername(), LinkedHashMap::new,
+                        Collectors.mapping(budgetService::toAlertDto, Collectors.toList())));
+        byUser.forEach(sender::send);
+        alertRepository.markDispatched(pending.stream().map(BudgetAlert::getId).collect(Collectors.toList()),
+                LocalDateTime.now());
+        return pending.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BudgetAlertDto;
+
+import java.util.List;
+
+// Delivers budget threshold alerts to a user (mail, push, ...); called with every pending alert for the user in a batch
+public interface BudgetAlertSender {
+
+    void send(String username, List<BudgetAlertDto> alerts);
+}
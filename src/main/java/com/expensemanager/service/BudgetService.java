@@ -0,0 +1,266 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BudgetAlertDto;
+import com.expensemanager.dto.BudgetDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.SetBudgetDto;
+import com.expensemanager.entity.Budget;
+import com.expensemanager.entity.BudgetAlert;
+import com.expensemanager.entity.CategoryMonthTotal;
+import com.expensemanager.entity.CategoryMonthTotalId;
+import com.expensemanager.entity.User;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.BudgetAlertRepository;
+import com.expensemanager.repository.BudgetRepository;
+import com.expensemanager.repository.CategoryMonthTotalRepository;
+import com.expensemanager.repository.UserRepository;
+import com.expensemanager.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly per-category budgets. Spend per (user, category, month) is kept as a running total in the
+ * category_month_totals table, so checking a write against its budget is a single-row relative UPDATE plus two
+ * primary-key reads instead of an aggregate query.
+ *
+ * Deltas are applied inside the expense write transaction: the row UPDATE serializes concurrent writers for the
+ * same key, whichever instance they run on, and the total read back under that lock is exact. A crossed
+ * threshold is recorded in the budget_alerts outbox in the same transaction, so a rollback discards both.
+ */
+@Service
+public class BudgetService {
+
+    static final int[] THRESHOLD_PERCENTS = {80, 100};
+    private static final int RECENT_ALERTS = 50;
+
+    private final BudgetRepository budgetRepository;
+    private final CategoryMonthTotalRepository totalRepository;
+    private final BudgetAlertRepository alertRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public BudgetService(BudgetRepository budgetRepository, CategoryMonthTotalRepository totalRepository,
+                         BudgetAlertRepository alertRepository, UserRepository userRepository,
+                         CategoryService categoryService, PlatformTransactionManager transactionManager) {
+        this.budgetRepository = budgetRepository;
+        this.totalRepository = totalRepository;
+        this.alertRepository = alertRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        // Total rows are created once per key, committed on their own so a rolled back write never loses them
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetDto> getBudgets(String username) {
+        User user = findUser(username);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        return budgetRepository.findByUserId(user.getId()).stream()
+                .map(budget -> toDto(budget, month))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public BudgetDto setBudget(String username, String category, SetBudgetDto budgetDto) {
+        User user = findUser(username);
+        Integer categoryId = categoryService.resolveId(category);
+        Budget budget = budgetRepository.findByUserIdAndCategoryId(user.getId(), categoryId)
+                .orElseGet(() -> new Budget(null, user, categoryId, null));
+        budget.setAmount(budgetDto.getAmount());
+        Budget saved = budgetRepository.save(budget);
+        return toDto(saved, LocalDate.now().withDayOfMonth(1));
+    }
+
+    @Transactional
+    public void deleteBudget(String username, String category) {
+        User user = findUser(username);
+        Integer categoryId = categoryService.findId(category);
+        Budget budget = (categoryId == null ? null
+                : budgetRepository.findByUserIdAndCategoryId(user.getId(), categoryId).orElse(null));
+        if (budget == null) {
+            throw new ResourceNotFoundException("Budget not found for category: " + category);
+        }
+        budgetRepository.delete(budget);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlertDto> getRecentAlerts(String username) {
+        User user = findUser(username);
+        return alertRepository.findByUserIdOrderByIdDesc(user.getId(), PageRequest.of(0, RECENT_ALERTS)).stream()
+                .map(this::toAlertDto)
+                .collect(Collectors.toList());
+    }
+
+    // Synchronous listener: runs inside the ExpenseService transaction that published the event
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> applyDeltas(event.getUserId(), deltas(null, event.getCurrent()));
+            case UPDATED -> applyDeltas(event.getUserId(), deltas(event.getPrevious(), event.getCurrent()));
+            case DELETED -> applyDeltas(event.getUserId(), deltas(event.getPrevious(), null));
+            case BULK_UPDATED, BULK_DELETED -> rebuildTotals(event.getUserId());
+            case GENERATED -> {
+                // The generator applies its per-month sums through addSpend
+            }
+        }
+    }
+
+    // For writers that insert expenses without going through ExpenseService; joins the inserting transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addSpend(Long userId, Integer categoryId, LocalDate date, BigDecimal amount) {
+        long cents = Money.toCents(amount);
+        if (cents != 0) {
+            applyDelta(userId, new MonthKey(categoryId, date.withDayOfMonth(1)), cents);
+        }
+    }
+
+    // Current spend for a category and month
+    public BigDecimal getSpent(Long userId, Integer categoryId, LocalDate month) {
+        return totalRepository.findTotal(userId, categoryId, month.withDayOfMonth(1)).orElse(BigDecimal.ZERO.setScale(2));
+    }
+
+    public BudgetAlertDto toAlertDto(BudgetAlert alert) {
+        return new BudgetAlertDto(
+                alert.getId(),
+                categoryService.getName(alert.getCategoryId()),
+                alert.getMonthStart(),
+                alert.getThresholdPercent(),
+                alert.getSpent(),
+                alert.getBudgetAmount(),
+                alert.getCreatedAt()
+        );
+    }
+
+    // An update that stays in the same category and month nets out to a single delta
+    private Map<MonthKey, Long> deltas(ExpenseDto previous, ExpenseDto current) {
+        Map<MonthKey, Long> deltas = new LinkedHashMap<>();
+        if (previous != null) {
+            deltas.merge(keyOf(previous), -Money.toCents(previous.getAmount()), Long::sum);
+        }
+        if (current != null) {
+            deltas.merge(keyOf(current), Money.toCents(current.getAmount()), Long::sum);
+        }
+        return deltas;
+    }
+
+    private MonthKey keyOf(ExpenseDto expense) {
+        return new MonthKey(categoryService.resolveId(expense.getCategory()), expense.getDate().withDayOfMonth(1));
+    }
+
+    private void applyDeltas(Long userId, Map<MonthKey, Long> deltas) {
+        deltas.forEach((key, cents) -> {
+            if (cents != 0) {
+                applyDelta(userId, key, cents);
+            }
+        });
+    }
+
+    private void applyDelta(Long userId, MonthKey key, long cents) {
+        BigDecimal delta = BigDecimal.valueOf(cents, 2);
+        if (totalRepository.addToTotal(userId, key.categoryId(), key.monthStart(), delta) == 0) {
+            createRow(key.toId(userId));
+            totalRepository.addToTotal(userId, key.categoryId(), key.monthStart(), delta);
+        }
+        if (cents > 0) {
+            checkThresholds(userId, key, cents);
+        }
+    }
+
+    private void createRow(CategoryMonthTotalId id) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!totalRepository.existsById(id)) {
+                    totalRepository.saveAndFlush(new CategoryMonthTotal(id.getUserId(), id.getCategoryId(),
+                            id.getMonthStart(), BigDecimal.ZERO));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another write created the same row concurrently; it is committed now
+        }
+    }
+
+    // Reads the budget and the row this transaction just locked, so writes from other instances are counted too
+    private void checkThresholds(Long userId, MonthKey key, long cents) {
+        BigDecimal budget = budgetRepository.findAmount(userId, key.categoryId()).orElse(null);
+        if (budget == null) {
+            return;
+        }
+        long budgetCents = Money.toCents(budget);
+        long after = Money.toCents(totalRepository.findTotal(userId, key.categoryId(), key.monthStart()).orElseThrow());
+        long before = after - cents;
+        for (int percent : THRESHOLD_PERCENTS) {
+            long threshold = budgetCents * percent / 100;
+            if (before < threshold && after >= threshold) {
+                alertRepository.save(new BudgetAlert(null, userRepository.getReferenceById(userId), key.categoryId(),
+                        key.monthStart(), percent, BigDecimal.valueOf(after, 2), BigDecimal.valueOf(budgetCents, 2),
+                        LocalDateTime.now(), null));
+            }
+        }
+    }
+
+    // Bulk statements do not say which rows they touched, so the user's totals are recomputed from the expense
+    // tables. Rows are reset and rewritten rather than deleted, so concurrent relative updates never miss a row.
+    private void rebuildTotals(Long userId) {
+        totalRepository.resetTotals(userId);
+        Map<MonthKey, BigDecimal> sums = new HashMap<>();
+        addSums(sums, totalRepository.sumExpensesByCategoryAndMonth(userId));
+        addSums(sums, totalRepository.sumArchivedExpensesByCategoryAndMonth(userId));
+        sums.forEach((key, total) -> {
+            CategoryMonthTotalId id = key.toId(userId);
+            if (!totalRepository.existsById(id)) {
+                createRow(id);
+            }
+            totalRepository.setTotal(userId, key.categoryId(), key.monthStart(), total);
+        });
+    }
+
+    private static void addSums(Map<MonthKey, BigDecimal> sums, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            LocalDate month = LocalDate.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(), 1);
+            sums.merge(new MonthKey((Integer) row[0], month), (BigDecimal) row[3], BigDecimal::add);
+        }
+    }
+
+    private BudgetDto toDto(Budget budget, LocalDate month) {
+        return new BudgetDto(
+                budget.getId(),
+                categoryService.getName(budget.getCategoryId()),
+                budget.getAmount(),
+                getSpent(budget.getUser().getId(), budget.getCategoryId(), month)
+        );
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    private record MonthKey(Integer categoryId, LocalDate monthStart) {
+
+        CategoryMonthTotalId toId(Long userId) {
+            return new CategoryMonthTotalId(userId, categoryId, monthStart);
+        }
+    }
+}
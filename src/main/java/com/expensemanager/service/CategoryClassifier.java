@@ -0,0 +1,416 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CategorySuggestionDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.util.Money;
+import com.expensemanager.util.NaiveBayesModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Suggests a category from an expense's description and amount. A global naive Bayes model learns from every
+ * user's labelled expenses and a per-user model from the user's own; the user model's vote grows with the
+ * number of expenses it has seen. Features are hashed description words plus a logarithmic amount band, so
+ * models need no vocabulary and predicting only allocates the returned suggestions.
+ *
+ * The global model is trained from the hot expenses table in the background, first at startup; until then
+ * suggestions come from the user's model alone. Both models then learn incrementally from committed writes.
+ * Bulk changes mark the global model stale, and it is also retrained every global-refresh-ms to pick up writes
+ * made on other instances. Writes committed during a retrain are replayed into the new model, so none are lost,
+ * though one committing just as the retrain starts may be counted twice.
+ *
+ * A user model is stamped with the user's change-log sequence number (see ExpenseChangeLog) and only learns
+ * the write that follows it. Reads compare the stamp with the log and reload the model when it is behind,
+ * which also covers writes made on other instances.
+ */
+@Service
+public class CategoryClassifier {
+
+    private static final int WORD_BUCKETS = 1 << 14;
+    private static final int AMOUNT_BANDS = 48;
+    private static final int FEATURE_SPACE = WORD_BUCKETS + AMOUNT_BANDS;
+    private static final int MAX_FEATURES = 32;
+    // The user model gets weight docs / (docs + USER_PRIOR_DOCS)
+    private static final double USER_PRIOR_DOCS = 10;
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryService categoryService;
+    private final ExpenseChangeLog changeLog;
+    private final TransactionTemplate transaction;
+    private final long idleMillis;
+    private final long globalRefreshMillis;
+
+    private volatile Model global = new Model();
+    // Set while a retrain loads; writes committed meanwhile are collected in it and replayed
+    private volatile Model retraining;
+    private final AtomicBoolean globalStale = new AtomicBoolean(true);
+    private final Map<String, Model> users = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    @Autowired
+    public CategoryClassifier(ExpenseRepository expenseRepository, CategoryService categoryService,
+                              ExpenseChangeLog changeLog, PlatformTransactionManager transactionManager,
+                              @Value("${classifier.idle-ms:600000}") long idleMillis,
+                              @Value("${classifier.global-refresh-ms:3600000}") long globalRefreshMillis) {
+        this.expenseRepository = expenseRepository;
+        this.categoryService = categoryService;
+        this.changeLog = changeLog;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.idleMillis = idleMillis;
+        this.globalRefreshMillis = globalRefreshMillis;
+    }
+
+    // Most likely categories first, at most limit of them; empty until some expense has a category
+    public List<CategorySuggestionDto> suggest(String username, String description, BigDecimal amount, int limit) {
+        Scratch s = scratch.get();
+        int labels = rank(username, description, amount, s);
+        List<CategorySuggestionDto> suggestions = new ArrayList<>(Math.min(limit, labels));
+        boolean[] taken = s.taken(labels);
+        for (int k = 0; k < limit; k++) {
+            int best = -1;
+            for (int slot = 0; slot < labels; slot++) {
+                if (!taken[slot] && s.probabilities[slot] > 0 && (best < 0 || s.probabilities[slot] > s.probabilities[best])) {
+                    best = slot;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            taken[best] = true;
+            suggestions.add(new CategorySuggestionDto(categoryService.getName(s.labels[best]), s.probabilities[best]));
+        }
+        return suggestions;
+    }
+
+    // The most likely category id, or null when nothing has been learned yet
+    public Integer predict(String username, String description, BigDecimal amount) {
+        Scratch s = scratch.get();
+        int labels = rank(username, description, amount, s);
+        int best = -1;
+        for (int slot = 0; slot < labels; slot++) {
+            if (s.probabilities[slot] > 0 && (best < 0 || s.probabilities[slot] > s.probabilities[best])) {
+                best = slot;
+            }
+        }
+        return best < 0 ? null : s.labels[best];
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Model user = users.get(event.getUsername());
+        // A user model learns only the write right after its stamp; after a gap the next read reloads it
+        Model learner = user != null && user.advance(event.getSeq()) ? user : null;
+        switch (event.getType()) {
+            case CREATED -> learn(learner, event.getCurrent(), 1);
+            case UPDATED -> {
+                learn(learner, event.getPrevious(), -1);
+                learn(learner, event.getCurrent(), 1);
+            }
+            case DELETED -> learn(learner, event.getPrevious(), -1);
+            // Set-based writes do not say which rows changed
+            case BULK_UPDATED, BULK_DELETED, GENERATED -> {
+                users.remove(event.getUsername());
+                globalStale.set(true);
+            }
+        }
+    }
+
+    // Trains the global model off the request path and swaps it in: at startup, after bulk changes, and once it
+    // is older than global-refresh-ms
+    @Scheduled(fixedDelayString = "${classifier.retrain-interval-ms:300000}")
+    public void retrainIfStale() {
+        boolean expired = System.currentTimeMillis() - global.loadedAt >= globalRefreshMillis;
+        if (!globalStale.compareAndSet(true, false) && !expired) {
+            return;
+        }
+        Model retrained = new Model();
+        retrained.pending = new ArrayList<>();
+        retraining = retrained;
+        try {
+            loadGlobal(retrained);
+            global = retrained;
+        } catch (RuntimeException e) {
+            globalStale.set(true);
+            throw e;
+        } finally {
+            retraining = null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${classifier.idle-ms:600000}")
+    public void evictIdleModels() {
+        long now = System.currentTimeMillis();
+        users.entrySet().removeIf(entry -> now - entry.getValue().lastUsed >= idleMillis);
+    }
+
+    // Fills s.labels and s.probabilities for every category the global or the user model knows; returns how many
+    private int rank(String username, String description, BigDecimal amount, Scratch s) {
+        int n = extractFeatures(description, amount, s.features);
+        Model globalModel = global;
+        Model userModel = userModel(username);
+
+        int labels = 0;
+        if (globalModel.loaded) {
+            globalModel.lock.readLock().lock();
+            try {
+                labels = globalModel.model.labelCount();
+                s.ensureCapacity(labels);
+                globalModel.model.logScores(s.features, n, s.scores);
+                for (int slot = 0; slot < labels; slot++) {
+                    s.labels[slot] = globalModel.model.label(slot);
+                    if (globalModel.model.docs(slot) == 0) {
+                        s.scores[slot] = Double.NEGATIVE_INFINITY;
+                    }
+                }
+            } finally {
+                globalModel.lock.readLock().unlock();
+            }
+            softmax(s.scores, labels, s.probabilities);
+        }
+
+        userModel.lock.readLock().lock();
+        try {
+            NaiveBayesModel model = userModel.model;
+            if (model.totalDocs() > 0) {
+                // Until the global model has loaded, the user's own expenses are all there is to go on
+                double weight = globalModel.loaded ? model.totalDocs() / (model.totalDocs() + USER_PRIOR_DOCS) : 1;
+                int userLabels = model.labelCount();
+                s.ensureUserCapacity(userLabels);
+                model.logScores(s.features, n, s.userScores);
+                for (int slot = 0; slot < userLabels; slot++) {
+                    if (model.docs(slot) == 0) {
+                        s.userScores[slot] = Double.NEGATIVE_INFINITY;
+                    }
+                }
+                softmax(s.userScores, userLabels, s.userScores);
+                for (int slot = 0; slot < labels; slot++) {
+                    s.probabilities[slot] *= 1 - weight;
+                }
+                // Categories the global model has not seen yet, e.g. ones first used on another instance, are added
+                s.ensureCapacity(labels + userLabels);
+                for (int userSlot = 0; userSlot < userLabels; userSlot++) {
+                    if (s.userScores[userSlot] == 0) {
+                        continue;
+                    }
+                    int slot = indexOf(s.labels, labels, model.label(userSlot));
+                    if (slot < 0) {
+                        slot = labels++;
+                        s.labels[slot] = model.label(userSlot);
+                        s.probabilities[slot] = 0;
+                    }
+                    s.probabilities[slot] += weight * s.userScores[userSlot];
+                }
+            }
+        } finally {
+            userModel.lock.readLock().unlock();
+        }
+        return labels;
+    }
+
+    private void learn(Model user, ExpenseDto expense, int weight) {
+        Scratch s = scratch.get();
+        int n = extractFeatures(expense.getDescription(), expense.getAmount(), s.features);
+        int categoryId = categoryService.resolveId(expense.getCategory());
+        // Read before global: once a retrain has swapped its model in, the two are the same
+        Model next = retraining;
+        Model current = global;
+        train(current, categoryId, s.features, n, weight);
+        if (next != null && next != current) {
+            train(next, categoryId, s.features, n, weight);
+        }
+        if (user != null) {
+            train(user, categoryId, s.features, n, weight);
+        }
+    }
+
+    // Changes committed before a model was loaded are already part of it; a retrain replays the ones it collects
+    private static void train(Model target, int categoryId, int[] features, int n, int weight) {
+        target.lock.writeLock().lock();
+        try {
+            if (target.loaded) {
+                target.model.add(categoryId, features, n, weight);
+            } else if (target.pending != null) {
+                target.pending.add(new Change(categoryId, Arrays.copyOf(features, n), weight));
+            }
+        } finally {
+            target.lock.writeLock().unlock();
+        }
+    }
+
+    // The user's model, reloaded when it is behind the user's change log
+    private Model userModel(String username) {
+        long seq = changeLog.lastSeq(username);
+        Model target = users.get(username);
+        if (target == null || target.seq != seq) {
+            target = new Model();
+            int[] features = new int[MAX_FEATURES];
+            for (Object[] row : expenseRepository.findTrainingRows(username)) {
+                trainRow(target.model, row, features);
+            }
+            // A write that committed meanwhile may or may not be in the rows; leave the stamp behind to reload
+            target.seq = changeLog.lastSeq(username) == seq ? seq : -1;
+            target.loaded = true;
+            users.put(username, target);
+        }
+        target.lastUsed = System.currentTimeMillis();
+        return target;
+    }
+
+    // Streams every training row without holding the lock, so writes committing meanwhile are only queued
+    private void loadGlobal(Model target) {
+        int[] features = new int[MAX_FEATURES];
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = expenseRepository.streamAllTrainingRows()) {
+                rows.forEach(row -> trainRow(target.model, row, features));
+            }
+        });
+        target.lock.writeLock().lock();
+        try {
+            for (Change change : target.pending) {
+                target.model.add(change.categoryId(), change.features(), change.features().length, change.weight());
+            }
+            target.pending = null;
+            target.loadedAt = System.currentTimeMillis();
+            target.loaded = true;
+        } finally {
+            target.lock.writeLock().unlock();
+        }
+    }
+
+    private static void trainRow(NaiveBayesModel model, Object[] row, int[] features) {
+        int n = extractFeatures((String) row[1], (BigDecimal) row[2], features);
+        model.add((Integer) row[0], features, n, 1);
+    }
+
+    // Hashed lower-cased words of two or more letters, then one amount band (bit length of the amount in cents)
+    private static int extractFeatures(String description, BigDecimal amount, int[] features) {
+        int n = 0;
+        int hash = 0;
+        int length = 0;
+        for (int i = 0; i <= description.length(); i++) {
+            char c = i < description.length() ? description.charAt(i) : ' ';
+            if (Character.isLetter(c)) {
+                hash = hash * 31 + Character.toLowerCase(c);
+                length++;
+                continue;
+            }
+            if (length >= 2 && n < features.length - 1) {
+                features[n++] = bucket(hash);
+            }
+            hash = 0;
+            length = 0;
+        }
+        long cents = Money.toCents(amount);
+        features[n++] = WORD_BUCKETS + Math.min(64 - Long.numberOfLeadingZeros(Math.max(cents, 1)), AMOUNT_BANDS - 1);
+        return n;
+    }
+
+    private static int bucket(int hash) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (WORD_BUCKETS - 1);
+    }
+
+    // In place is allowed (probabilities == scores); slots scored -infinity get probability 0
+    private static void softmax(double[] scores, int n, double[] probabilities) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, scores[i]);
+        }
+        if (max == Double.NEGATIVE_INFINITY) {
+            Arrays.fill(probabilities, 0, n, 0);
+            return;
+        }
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            probabilities[i] = Math.exp(scores[i] - max);
+            sum += probabilities[i];
+        }
+        for (int i = 0; i < n; i++) {
+            probabilities[i] /= sum;
+        }
+    }
+
+    private static int indexOf(int[] values, int n, int value) {
+        for (int i = 0; i < n; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class Model {
+
+        private final NaiveBayesModel model = new NaiveBayesModel(FEATURE_SPACE);
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean loaded;
+        private volatile long lastUsed = System.currentTimeMillis();
+        // User models: the change-log sequence number of the last write learned, -1 if unknown
+        private volatile long seq = -1;
+        // Global models: when loading finished, and the changes queued while loading
+        private volatile long loadedAt;
+        private List<Change> pending;
+
+        synchronized boolean advance(long next) {
+            if (seq < 0 || next != seq + 1) {
+                return false;
+            }
+            seq = next;
+            return true;
+        }
+    }
+
+    private record Change(int categoryId, int[] features, int weight) {
+    }
+
+    // Per-thread buffers so ranking does not allocate; grown when new categories appear
+    private static class Scratch {
+
+        private final int[] features = new int[MAX_FEATURES];
+        private int[] labels = new int[16];
+        private double[] scores = new double[16];
+        private double[] probabilities = new double[16];
+        private double[] userScores = new double[16];
+        private boolean[] taken = new boolean[16];
+
+        // Keeps the contents, so it can be called again after the global model's labels are filled in
+        void ensureCapacity(int n) {
+            if (labels.length < n) {
+                labels = Arrays.copyOf(labels, n * 2);
+                scores = Arrays.copyOf(scores, n * 2);
+                probabilities = Arrays.copyOf(probabilities, n * 2);
+                taken = new boolean[n * 2];
+            }
+        }
+
+        void ensureUserCapacity(int n) {
+            if (userScores.length < n) {
+                userScores = new double[n * 2];
+            }
+        }
+
+        boolean[] taken(int n) {
+            Arrays.fill(taken, 0, n, false);
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.Category;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global category dictionary. Expenses reference categories by a small integer id; this service keeps
+ * both directions of the name/id mapping in memory so mapping to and from DTOs never hits the database.
+ */
+@Service
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CategoryService(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // New categories are committed independently so a rolled back expense write never leaves a cached id
+        // pointing at a row that does not exist.
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void loadDictionary() {
+        categoryRepository.findAll().forEach(this::cache);
+    }
+
+    // Returns the id for the given category name, creating the dictionary entry on first use
+    public Integer resolveId(String name) {
+        String normalized = name.trim();
+        Integer id = idsByName.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        return cache(findOrCreate(normalized)).getId();
+    }
+
+    // Returns the id for an existing category name, or null if the name has never been used
+    public Integer findId(String name) {
+        return idsByName.get(name.trim());
+    }
+
+    public String getName(Integer id) {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        return cache(category).getName();
+    }
+
+    private Category findOrCreate(String name) {
+        try {
+            return newTransaction.execute(status -> categoryRepository.findByName(name)
+                    .orElseGet(() -> categoryRepository.saveAndFlush(new Category(null, name))));
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the same category concurrently; its row is committed now
+            return categoryRepository.findByName(name).orElseThrow(() -> e);
+        }
+    }
+
+    private Category cache(Category category) {
+        idsByName.put(category.getName(), category.getId());
+        namesById.put(category.getId(), category.getName());
+        return category;
+    }
+}
@@ -0,0 +1,247 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.DuplicateDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.util.MinHash;
+import com.expensemanager.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Flags likely duplicate expenses (typically a manual entry and the same payment from a bank import). Two
+ * expenses match when they have the same amount, dates at most window-days apart and MinHash-similar
+ * descriptions. Each user's committed expenses are indexed in memory by amount, so a check is a hash lookup
+ * plus a few signature comparisons instead of a self-join on the expenses table.
+ *
+ * A user's index is loaded from the hot table on first use, kept current by committed writes and dropped after
+ * it has been idle for a while. It is stamped with the user's change-log sequence number: a write is applied
+ * only if it is the next number, and a check first compares the stamp with the user's counter row, reloading
+ * the index if a write was missed (made on another instance, a bulk change, or not yet delivered here).
+ * Archived expenses are not indexed. Checks only see committed expenses; callers inserting several rows at
+ * once check them against each other with a Batch.
+ */
+@Service
+public class DuplicateDetector {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseChangeLog changeLog;
+    private final int windowDays;
+    private final double threshold;
+    private final long idleMillis;
+
+    private final Map<String, UserIndex> users = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DuplicateDetector(ExpenseRepository expenseRepository, ExpenseChangeLog changeLog,
+                             @Value("${duplicates.window-days:3}") int windowDays,
+                             @Value("${duplicates.similarity-threshold:0.4}") double threshold,
+                             @Value("${duplicates.idle-ms:600000}") long idleMillis) {
+        this.expenseRepository = expenseRepository;
+        this.changeLog = changeLog;
+        this.windowDays = windowDays;
+        this.threshold = threshold;
+        this.idleMillis = idleMillis;
+    }
+
+    // The best matching committed expense, or null
+    public DuplicateDto findDuplicate(String username, BigDecimal amount, LocalDate date, String description) {
+        return check(username, changeLog.lastSeq(username),
+                new Fingerprint(0, Money.toCents(amount), date.toEpochDay(), MinHash.signature(description)), null);
+    }
+
+    // Checks rows that are inserted together against the committed expenses and against each other
+    public Batch newBatch(String username) {
+        return new Batch(username, changeLog.lastSeq(username));
+    }
+
+    // Every expense that matches an earlier one, in one pass over the user's expenses in date order.
+    // Only a window of recent rows is held, so memory does not grow with the size of the history.
+    @Transactional(readOnly = true)
+    public List<DuplicateDto> findDuplicates(String username) {
+        List<DuplicateDto> duplicates = new ArrayList<>();
+        Index window = new Index();
+        ArrayDeque<Fingerprint> inWindow = new ArrayDeque<>();
+        try (Stream<Object[]> rows = expenseRepository.streamFingerprintRows(username)) {
+            rows.forEach(row -> {
+                Fingerprint fingerprint = toFingerprint(row);
+                while (!inWindow.isEmpty() && inWindow.peekFirst().epochDay() < fingerprint.epochDay() - windowDays) {
+                    window.remove(inWindow.pollFirst().id());
+                }
+                Match match = window.findMatch(fingerprint, windowDays, threshold);
+                if (match != null) {
+                    duplicates.add(new DuplicateDto(null, fingerprint.id(), match.id(), match.similarity()));
+                }
+                window.put(fingerprint);
+                inWindow.addLast(fingerprint);
+            });
+        }
+        return duplicates;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserIndex index = users.get(event.getUsername());
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            // Older writes are already part of the loaded rows; after a gap the stamp stays behind and the next
+            // check reloads
+            if (event.getSeq() != index.seq + 1) {
+                return;
+            }
+            switch (event.getType()) {
+                case CREATED, UPDATED -> index.index.put(toFingerprint(event.getCurrent()));
+                case DELETED -> index.index.remove(event.getPrevious().getId());
+                // Set-based writes do not say which rows changed; left behind in the same way
+                case BULK_UPDATED, BULK_DELETED, GENERATED -> {
+                    return;
+                }
+            }
+            index.seq = event.getSeq();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${duplicates.idle-ms:600000}")
+    public void evictIdleIndexes() {
+        long now = System.currentTimeMillis();
+        users.entrySet().removeIf(entry -> now - entry.getValue().lastUsed >= idleMillis);
+    }
+
+    private DuplicateDto check(String username, long seq, Fingerprint fingerprint, Index batch) {
+        Match match = findCommittedMatch(username, seq, fingerprint);
+        if (batch != null) {
+            Match batchMatch = batch.findMatch(fingerprint, windowDays, threshold);
+            if (batchMatch != null && (match == null || batchMatch.similarity() > match.similarity())) {
+                match = batchMatch;
+            }
+        }
+        return match == null ? null : new DuplicateDto(null, null, match.id(), match.similarity());
+    }
+
+    // seq is the user's latest write as read by the caller; an index stamped with another one is reloaded
+    private Match findCommittedMatch(String username, long seq, Fingerprint fingerprint) {
+        UserIndex index = users.computeIfAbsent(username, name -> new UserIndex());
+        synchronized (index) {
+            if (index.seq != seq) {
+                // Rows of writes committed after seq was read may be in the result too; applying such a write
+                // again when its event arrives replaces the fingerprint with the same one
+                index.index = new Index();
+                expenseRepository.findFingerprintRows(username).forEach(row -> index.index.put(toFingerprint(row)));
+                index.seq = seq;
+            }
+            index.lastUsed = System.currentTimeMillis();
+            return index.index.findMatch(fingerprint, windowDays, threshold);
+        }
+    }
+
+    private static Fingerprint toFingerprint(Object[] row) {
+        return new Fingerprint((Long) row[0], Money.toCents((BigDecimal) row[1]), ((LocalDate) row[2]).toEpochDay(),
+                MinHash.signature((String) row[3]));
+    }
+
+    private static Fingerprint toFingerprint(ExpenseDto expense) {
+        return new Fingerprint(expense.getId(), Money.toCents(expense.getAmount()), expense.getDate().toEpochDay(),
+                MinHash.signature(expense.getDescription()));
+    }
+
+    /**
+     * Rows being inserted together. check compares a row with the committed expenses and the rows already added;
+     * add records a row once it has been inserted, under its new id.
+     */
+    public class Batch {
+
+        private final String username;
+        private final long seq;
+        private final Index index = new Index();
+
+        private Batch(String username, long seq) {
+            this.username = username;
+            this.seq = seq;
+        }
+
+        public DuplicateDto check(BigDecimal amount, LocalDate date, String description) {
+            return DuplicateDetector.this.check(username, seq,
+                    new Fingerprint(0, Money.toCents(amount), date.toEpochDay(), MinHash.signature(description)), index);
+        }
+
+        public void add(ExpenseDto expense) {
+            index.put(toFingerprint(expense));
+        }
+    }
+
+    // Guarded by its own monitor
+    private static class UserIndex {
+
+        private Index index;
+        // The user's last write reflected in the index; -1 before the first load
+        private long seq = -1;
+        private volatile long lastUsed = System.currentTimeMillis();
+    }
+
+    // Fingerprints by id and by amount; not thread-safe
+    private static class Index {
+
+        private final Map<Long, Fingerprint> byId = new HashMap<>();
+        private final Map<Long, List<Fingerprint>> byAmount = new HashMap<>();
+
+        // Replaces an earlier fingerprint with the same id
+        void put(Fingerprint fingerprint) {
+            remove(fingerprint.id());
+            byId.put(fingerprint.id(), fingerprint);
+            byAmount.computeIfAbsent(fingerprint.cents(), cents -> new ArrayList<>(1)).add(fingerprint);
+        }
+
+        void remove(long id) {
+            Fingerprint removed = byId.remove(id);
+            if (removed != null) {
+                List<Fingerprint> sameAmount = byAmount.get(removed.cents());
+                sameAmount.remove(removed);
+                if (sameAmount.isEmpty()) {
+                    byAmount.remove(removed.cents());
+                }
+            }
+        }
+
+        Match findMatch(Fingerprint candidate, int windowDays, double threshold) {
+            List<Fingerprint> sameAmount = byAmount.get(candidate.cents());
+            if (sameAmount == null) {
+                return null;
+            }
+            Match best = null;
+            for (Fingerprint existing : sameAmount) {
+                if (existing.id() == candidate.id() || Math.abs(existing.epochDay() - candidate.epochDay()) > windowDays) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(existing.signature(), candidate.signature());
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(existing.id(), similarity);
+                }
+            }
+            return best;
+        }
+    }
+
+    private record Fingerprint(long id, long cents, long epochDay, int[] signature) {
+    }
+
+    private record Match(long id, double similarity) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.ArchivedExpense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves expenses older than the archive horizon from the hot expenses table into expenses_archive, so the hot
+ * table and its indexes only hold recent data. Rows are moved with set-based INSERT ... SELECT and DELETE
+ * statements in short batches; each batch locks its rows, so a concurrent edit either commits first or fails
+ * its version check and is retried by the client against the archived row. The nightly run holds a lease in
+ * scheduled_job_locks, so of several instances only one archives.
+ */
+@Service
+public class ExpenseArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseArchiver.class);
+    private static final String JOB = "expense-archiver";
+
+    private final ScheduledJobLocks jobLocks;
+    private final TransactionTemplate transaction;
+    private final int horizonMonths;
+    private final int batchSize;
+    private final Duration lease;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ExpenseArchiver(ScheduledJobLocks jobLocks, PlatformTransactionManager transactionManager,
+                           @Value("${archive.horizon-months:12}") int horizonMonths,
+                           @Value("${archive.batch-size:500}") int batchSize,
+                           @Value("${archive.lease-ms:3600000}") long leaseMillis) {
+        this.jobLocks = jobLocks;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.horizonMonths = horizonMonths;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveExpiredExpenses() {
+        if (!jobLocks.tryAcquire(JOB, lease)) {
+            return; // Another instance is archiving
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(horizonMonths);
+            int archived = archiveBefore(cutoff);
+            if (archived > 0) {
+                log.info("Archived {} expenses dated before {}", archived, cutoff);
+            }
+        } finally {
+            jobLocks.release(JOB);
+        }
+    }
+
+    // Archives every expense dated before the cutoff and returns how many were moved
+    public int archiveBefore(LocalDate cutoff) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long lastId = afterId;
+            List<Long> ids = transaction.execute(status -> moveBatch(cutoff, lastId));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return total;
+    }
+
+    // Keyset over the primary key, so each batch continues where the previous one stopped instead of rescanning
+    private List<Long> moveBatch(LocalDate cutoff, long afterId) {
+        List<Long> ids = entityManager.createQuery(
+                        "select e.id from Expense e where e.date < :cutoff and e.id > :afterId order by e.id", Long.class)
+                .setParameter("cutoff", cutoff)
+                .setParameter("afterId", afterId)
+                .setMaxResults(batchSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        entityManager.createQuery("insert into ArchivedExpense (id, description, amount, date, categoryId, user, recurringExpenseId, version) " +
+                        "select e.id, e.description, e.amount, e.date, e.categoryId, e.user, e.recurringExpenseId, e.version " +
+                        "from Expense e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        // Bulk HQL on Expense also evicts the expenses second-level cache region
+        entityManager.createQuery("delete from Expense e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return ids;
+    }
+
+    // Moves one archived expense back into the hot table so it can be edited like any other; it is archived
+    // again on a later run if its date is still past the horizon. Returns false if no such archived expense.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean restore(Long expenseId) {
+        int inserted = entityManager.createQuery("insert into Expense (id, description, amount, date, categoryId, user, recurringExpenseId, version) " +
+                        "select a.id, a.description, a.amount, a.date, a.categoryId, a.user, a.recurringExpenseId, a.version " +
+                        "from ArchivedExpense a where a.id = :id")
+                .setParameter("id", expenseId)
+                .executeUpdate();
+        if (inserted == 0) {
+            return false;
+        }
+        int deleted = entityManager.createQuery("delete from ArchivedExpense a where a.id = :id")
+                .setParameter("id", expenseId)
+                .executeUpdate();
+        if (deleted == 0) {
+            // Deleted concurrently after our copy was taken
+            throw new ObjectOptimisticLockingFailureException(ArchivedExpense.class, expenseId);
+        }
+        return true;
+    }
+}
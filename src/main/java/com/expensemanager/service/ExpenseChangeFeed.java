@@ -0,0 +1,333 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.ExpenseChangeDto;
+import com.expensemanager.event.ExpenseChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fans committed expense changes out to the user's open Server-Sent Event streams.
+ *
+ * Each connection has a bounded buffer drained by a small sender pool, so a slow client never blocks the
+ * committing thread or other clients; a client whose buffer overflows is disconnected and resumes with
+ * Last-Event-ID. Recent changes are kept per user in a short replay ring. When the requested id is older
+ * than the ring (or otherwise unknown) the client is sent a "reset" event and should reload the list.
+ */
+@Service
+public class ExpenseChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseChangeFeed.class);
+
+    static final String CHANGE_EVENT = "expense";
+    static final String RESET_EVENT = "reset";
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+    private final long idleChannelMillis;
+    private final Executor sender;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    // Seeded from the clock so ids keep increasing across restarts and ids from a previous run read as a gap
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    @Autowired
+    public ExpenseChangeFeed(@Value("${expense-stream.buffer-size:64}") int bufferSize,
+                             @Value("${expense-stream.replay-size:128}") int replaySize,
+                             @Value("${expense-stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${expense-stream.idle-channel-ms:300000}") long idleChannelMillis,
+                             @Value("${expense-stream.sender-threads:4}") int senderThreads,
+                             MeterRegistry meterRegistry) {
+        this(bufferSize, replaySize, timeoutMillis, idleChannelMillis,
+                Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("expense-stream-")),
+                meterRegistry);
+    }
+
+    ExpenseChangeFeed(int bufferSize, int replaySize, long timeoutMillis, long idleChannelMillis,
+                      Executor sender, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeoutMillis;
+        this.idleChannelMillis = idleChannelMillis;
+        this.sender = sender;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public SseEmitter subscribe(String username, String lastEventId) {
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(username, subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(username, subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe(username, subscriber));
+
+        subscriber.queue.offer(() -> SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS).comment("subscribed"));
+        Long resumeAfter = parseEventId(lastEventId);
+        while (true) {
+            Channel channel = channels.computeIfAbsent(username, key -> new Channel(sequence.get()));
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue; // evicted between lookup and lock
+                }
+                if (lastEventId != null) {
+                    List<Change> missed = resumeAfter == null ? null : channel.changesAfter(resumeAfter, sequence.get());
+                    if (missed == null || missed.size() >= bufferSize) {
+                        subscriber.queue.offer(() -> SseEmitter.event().name(RESET_EVENT).data(""));
+                    } else {
+                        missed.forEach(change -> subscriber.queue.offer(change::toEvent));
+                    }
+                }
+                channel.subscribers.add(subscriber);
+                channel.touch();
+                break;
+            }
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Runs after commit, so subscribers never see a change that was rolled back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        ExpenseChangeDto payload = toPayload(event);
+        while (true) {
+            Channel channel = channels.computeIfAbsent(event.getUsername(), key -> new Channel(sequence.get()));
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue;
+                }
+                // Ids are taken under the channel lock so they are ascending within the user's ring
+                Change change = new Change(sequence.incrementAndGet(), payload);
+                channel.append(change, replaySize);
+                channel.touch();
+                for (Subscriber subscriber : channel.subscribers) {
+                    deliver(channel, subscriber, change::toEvent);
+                }
+                return;
+            }
+        }
+    }
+
+    // Keeps proxies from closing quiet connections and surfaces clients that went away without a FIN
+    @Scheduled(fixedDelayString = "${expense-stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                for (Subscriber subscriber : channel.subscribers) {
+                    deliver(channel, subscriber, () -> SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${expense-stream.idle-channel-ms:300000}")
+    public void evictIdleChannels() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+            Channel channel = entry.getValue();
+            synchronized (channel) {
+                if (channel.subscribers.isEmpty() && now - channel.lastActivity >= idleChannelMillis) {
+                    channel.closed = true;
+                    channels.remove(entry.getKey(), channel);
+                }
+            }
+        }
+    }
+
+    public int subscriberCount(String username) {
+        Channel channel = channels.get(username);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                channel.subscribers.forEach(this::evict);
+            }
+        }
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Called with the channel's monitor held
+    private void deliver(Channel channel, Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (subscriber.evicted) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            meterRegistry.counter("expense.stream.evictions").increment();
+            log.debug("Disconnecting slow expense stream subscriber after {} undelivered events", bufferSize);
+            channel.subscribers.remove(subscriber);
+            evict(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    // The emitter is only touched from the sender pool; a write blocked on a stalled socket must not hold up the publisher
+    private void evict(Subscriber subscriber) {
+        subscriber.evicted = true;
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while (!subscriber.evicted && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.get());
+            }
+            if (subscriber.evicted && !subscriber.completed) {
+                subscriber.completed = true;
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the request already completed; the emitter callbacks unsubscribe it
+            subscriber.evicted = true;
+            subscriber.completed = true;
+            subscriber.queue.clear();
+        } finally {
+            subscriber.scheduled.set(false);
+            boolean pending = subscriber.evicted ? !subscriber.completed : !subscriber.queue.isEmpty();
+            if (pending) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(String username, Subscriber subscriber) {
+        subscriber.evicted = true;
+        subscriber.completed = true;
+        subscriber.queue.clear();
+        Channel channel = channels.get(username);
+        if (channel != null) {
+            synchronized (channel) {
+                channel.subscribers.remove(subscriber);
+                channel.touch();
+            }
+        }
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Bulk and generated changes carry no per-expense detail; clients reload the affected list
+    private static ExpenseChangeDto toPayload(ExpenseChangedEvent event) {
+        return switch (event.getType()) {
+            case CREATED, UPDATED -> new ExpenseChangeDto(event.getType(), event.getCurrent().getId(), event.getCurrent());
+            case DELETED -> new ExpenseChangeDto(event.getType(), event.getPrevious().getId(), null);
+            case BULK_UPDATED, BULK_DELETED, GENERATED -> new ExpenseChangeDto(event.getType(), null, null);
+        };
+    }
+
+    private record Change(long id, ExpenseChangeDto payload) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return SseEmitter.event().id(Long.toString(id)).name(CHANGE_EVENT).data(payload);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean evicted;
+        private volatile boolean completed;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    // Guarded by its own monitor
+    private static final class Channel {
+
+        private final Set<Subscriber> subscribers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private final ArrayDeque<Change> replay = new ArrayDeque<>();
+        // Highest id this ring can no longer account for; resuming from anything older is a gap
+        private long floor;
+        private long lastActivity = System.currentTimeMillis();
+        private boolean closed;
+
+        private Channel(long floor) {
+            this.floor = floor;
+        }
+
+        private void append(Change change, int replaySize) {
+            if (replay.size() == replaySize) {
+                floor = replay.removeFirst().id();
+            }
+            replay.addLast(change);
+        }
+
+        // Null when changes after the given id may have been dropped, or the id was never issued
+        private List<Change> changesAfter(long lastEventId, long latestId) {
+            if (lastEventId < floor || lastEventId > latestId) {
+                return null;
+            }
+            List<Change> missed = new ArrayList<>();
+            for (Change change : replay) {
+                if (change.id() > lastEventId) {
+                    missed.add(change);
+                }
+            }
+            return missed;
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.ExpenseChange;
+import com.expensemanager.entity.ExpenseChangeCounter;
+import com.expensemanager.exception.InvalidRequestException;
+import com.expensemanager.repository.ExpenseChangeCounterRepository;
+import com.expensemanager.repository.ExpenseChangeRepository;
+import com.expensemanager.repository.ExpenseFilterPredicate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-user change log behind delta sync (GET /api/expenses/changes). Every write to a user's expenses takes the
+ * next number from the user's counter, in the same transaction, and stamps it on each expense it touched. Only
+ * the latest change per expense is kept, so the log compacts itself as it is written: one row per live expense
+ * plus a tombstone per deleted one. Tombstones older than the retention period are purged nightly; a client
+ * whose token predates the purge is told to reset and sync from scratch.
+ *
+ * The counter row stays locked from the increment until commit, so a user's writes commit in sequence order
+ * and a reader that has seen every change up to n can never later find an uncommitted one at or below n.
+ */
+@Service
+public class ExpenseChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseChangeLog.class);
+
+    private static final String INSERT_GENERATED = "insert into expense_changes (expense_id, user_id, seq, deleted, changed_at) " +
+            "select e.id, e.user_id, ?1, false, ?2 from expenses e where e.user_id = ?3 and e.recurring_expense_id in (?4) " +
+            "and not exists (select 1 from expense_changes c where c.expense_id = e.id)";
+
+    private final ExpenseChangeRepository changeRepository;
+    private final ExpenseChangeCounterRepository counterRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    private final int maxPageSize;
+    private final int tombstoneRetentionDays;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ExpenseChangeLog(ExpenseChangeRepository changeRepository, ExpenseChangeCounterRepository counterRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${changes.max-page-size:1000}") int maxPageSize,
+                            @Value("${changes.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.changeRepository = changeRepository;
+        this.counterRepository = counterRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxPageSize = maxPageSize;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    // A single expense was created, updated or deleted; returns the write's sequence number
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long record(Long userId, Long expenseId, boolean deleted) {
+        long seq = nextSeq(userId);
+        LocalDateTime now = LocalDateTime.now();
+        if (changeRepository.mark(expenseId, seq, deleted, now) == 0) {
+            entityManager.persist(new ExpenseChange(expenseId, userId, seq, deleted, now));
+        }
+        return seq;
+    }
+
+    // Every expense (hot or archived) matching the filter is about to be deleted, or has been updated
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordMatching(Long userId, ExpenseFilterPredicate filter, boolean deleted) {
+        long seq = nextSeq(userId);
+        LocalDateTime now = LocalDateTime.now();
+        for (String entity : new String[]{"Expense", "ArchivedExpense"}) {
+            filter.bind(entityManager.createQuery("update ExpenseChange c set c.seq = :seq, c.deleted = :deleted, " +
+                            "c.changedAt = :changedAt where c.expenseId in (select x.id from " + entity + " x where " + filter.where("x") + ")"))
+                    .setParameter("seq", seq)
+                    .setParameter("deleted", deleted)
+                    .setParameter("changedAt", now)
+                    .executeUpdate();
+        }
+        return seq;
+    }
+
+    // Occurrences of the given templates were inserted for the user with plain JDBC
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordGenerated(Long userId, Collection<Long> templateIds) {
+        long seq = nextSeq(userId);
+        entityManager.createNativeQuery(INSERT_GENERATED)
+                .setParameter(1, seq)
+                .setParameter(2, LocalDateTime.now())
+                .setParameter(3, userId)
+                .setParameter(4, templateIds)
+                .executeUpdate();
+        return seq;
+    }
+
+    // Holds the user's counter row until commit without taking a number: no other write of the user can commit
+    // meanwhile, so a check made now still holds when this transaction writes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Long userId) {
+        if (counterRepository.lock(userId) == 0) {
+            createCounter(userId);
+            counterRepository.lock(userId);
+        }
+    }
+
+    // Sequence number of the user's latest committed write (0 before the first). Caches built from the user's
+    // expenses compare it with the write they last applied, which also catches writes made on other instances.
+    @Transactional(readOnly = true)
+    public long lastSeq(String username) {
+        Long lastSeq = counterRepository.findLastSeqByUsername(username);
+        return lastSeq == null ? 0 : lastSeq;
+    }
+
+    /**
+     * Changes after the token, oldest first, at most limit of them (capped at changes.max-page-size). A null or
+     * empty token starts from the beginning, which lists every live expense. The counter is read before the page,
+     * so a page that reaches the end can hand out a token covering everything committed up to that point.
+     */
+    @Transactional(readOnly = true)
+    public Page read(Long userId, String token, int limit) {
+        Position since = Position.parse(token);
+        ExpenseChangeCounter counter = counterRepository.findById(userId).orElse(null);
+        long lastSeq = counter == null ? 0 : counter.getLastSeq();
+        long compactedThrough = counter == null ? 0 : counter.getCompactedThrough();
+        if (since.seq() > 0 && (since.seq() < compactedThrough || (since.partial() && since.seq() == compactedThrough))
+                || since.seq() > lastSeq) {
+            return new Page(List.of(), null, false, true);
+        }
+
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        List<ExpenseChange> changes = changeRepository.findPage(userId, since.seq(), since.afterExpenseId(),
+                PageRequest.of(0, size + 1));
+        if (changes.size() > size) {
+            ExpenseChange last = changes.get(size - 1);
+            return new Page(changes.subList(0, size), new Position(last.getSeq(), last.getExpenseId()).format(), true, false);
+        }
+        long through = Math.max(lastSeq, changes.isEmpty() ? since.seq() : changes.get(changes.size() - 1).getSeq());
+        return new Page(changes, Position.complete(through).format(), false, false);
+    }
+
+    @Scheduled(cron = "${changes.compaction-cron:0 45 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int purged = purgeTombstonesBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.info("Purged {} expense tombstones older than {} days", purged, tombstoneRetentionDays);
+        }
+    }
+
+    // One short transaction per user, so a user's writes are only held up while their own tombstones go
+    public int purgeTombstonesBefore(LocalDateTime cutoff) {
+        List<Object[]> heads = changeRepository.findExpiredTombstoneHeads(cutoff);
+        int purged = 0;
+        for (Object[] head : heads) {
+            Long userId = (Long) head[0];
+            Long seq = (Long) head[1];
+            purged += transaction.execute(status -> {
+                counterRepository.advanceCompactedThrough(userId, seq);
+                return changeRepository.deleteTombstonesThrough(userId, seq);
+            });
+        }
+        return purged;
+    }
+
+    private long nextSeq(Long userId) {
+        if (counterRepository.increment(userId) == 0) {
+            createCounter(userId);
+            counterRepository.increment(userId);
+        }
+        return counterRepository.findLastSeq(userId);
+    }
+
+    private void createCounter(Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!counterRepository.existsById(userId)) {
+                    counterRepository.saveAndFlush(new ExpenseChangeCounter(userId, 0L, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another write created the counter concurrently; it is committed now
+        }
+    }
+
+    /**
+     * A page of the log. nextToken resumes after the last change (null when reset is set); reset means the token
+     * is older than the purged tombstones, or unknown, and the client must drop its copy and sync from scratch.
+     */
+    public record Page(List<ExpenseChange> changes, String nextToken, boolean hasMore, boolean reset) {
+    }
+
+    // "seq" when every change up to seq has been seen, "seq.expenseId" in the middle of one write's changes
+    private record Position(long seq, long afterExpenseId) {
+
+        static Position complete(long seq) {
+            return new Position(seq, Long.MAX_VALUE);
+        }
+
+        static Position parse(String token) {
+            if (token == null || token.isBlank()) {
+                return complete(0);
+            }
+            try {
+                int dot = token.indexOf('.');
+                Position position = dot < 0 ? complete(Long.parseLong(token))
+                        : new Position(Long.parseLong(token.substring(0, dot)), Long.parseLong(token.substring(dot + 1)));
+                if (position.seq() < 0) {
+                    throw new NumberFormatException(token);
+                }
+                return position;
+            } catch (NumberFormatException e) {
+                throw new InvalidRequestException("Invalid sync token: " + token);
+            }
+        }
+
+        boolean partial() {
+            return afterExpenseId != Long.MAX_VALUE;
+        }
+
+        String format() {
+            return partial() ? seq + "." + afterExpenseId : Long.toString(seq);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sits in front of the ExpenseService read methods and shares one in-flight computation between concurrent
+ * identical reads (e.g. several dashboard tabs polling at once). Each shared computation runs in its own
+ * read-only transaction through the ExpenseService proxy, so callers must not already be inside a transaction.
+ */
+@Service
+public class ExpenseReadCoalescer {
+
+    private final ExpenseService expenseService;
+    private final SingleFlight<ReadKey, Object> reads = new SingleFlight<>();
+
+    @Autowired
+    public ExpenseReadCoalescer(ExpenseService expenseService) {
+        this.expenseService = expenseService;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ExpenseDto> getExpensesByUsername(String username) {
+        return (List<ExpenseDto>) reads.execute(new ReadKey(username, "list", null),
+                () -> List.copyOf(expenseService.getExpensesByUsername(username)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ExpenseDto> getExpensesByUsername(String username, LocalDate from, LocalDate to) {
+        return (List<ExpenseDto>) reads.execute(new ReadKey(username, "range", new DateRange(from, to)),
+                () -> List.copyOf(expenseService.getExpensesByUsername(username, from, to)));
+    }
+
+    public ExpenseDto getExpenseByIdAndUsername(Long expenseId, String username) {
+        return (ExpenseDto) reads.execute(new ReadKey(username, "byId", expenseId),
+                () -> expenseService.getExpenseByIdAndUsername(expenseId, username));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, BigDecimal> getCategoryTotals(String username) {
+        return (Map<String, BigDecimal>) reads.execute(new ReadKey(username, "summary", null),
+                () -> Collections.unmodifiableMap(expenseService.getCategoryTotals(username)));
+    }
+
+    // A committed write may not be visible to reads that started before it, so new callers must not join them
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    public void invalidate(String username) {
+        reads.forgetIf(key -> key.username().equals(username));
+    }
+
+    // argument is the expense id or date range, null for whole-user reads
+    private record ReadKey(String username, String operation, Object argument) {
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+    }
+}
@@ -1,31 +1,79 @@
 package com.expensemanager.service;
 
+import com.expensemanager.dto.BulkUpdateExpensesDto;
 import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.DuplicateDto;
+import com.expensemanager.dto.DuplicatePolicy;
 import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.dto.ExpenseSyncChangeDto;
+import com.expensemanager.dto.ExpenseSyncDto;
+import com.expensemanager.dto.ImportExpenseDto;
+import com.expensemanager.dto.ImportResultDto;
+import com.expensemanager.entity.ArchivedExpense;
 import com.expensemanager.entity.Expense;
+import com.expensemanager.entity.ExpenseChange;
 import com.expensemanager.entity.User;
+import com.expensemanager.event.ExpenseChangeType;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.exception.DuplicateExpenseException;
+import com.expensemanager.exception.PreconditionFailedException;
 import com.expensemanager.exception.ResourceNotFoundException; // Added import
+import com.expensemanager.repository.ArchivedExpenseRepository;
+import com.expensemanager.repository.CategoryTotal;
+import com.expensemanager.repository.ExpenseFilterPredicate;
 import com.expensemanager.repository.ExpenseRepository;
 import com.expensemanager.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException; // For authorization checks
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ExpenseService {
 
+    // Imported rows without a category get this one when the classifier has not learned anything yet
+    static final String UNCATEGORIZED = "Uncategorized";
+
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchivedExpenseRepository archivedExpenseRepository;
+    private final ExpenseArchiver expenseArchiver;
+    private final DuplicateDetector duplicateDetector;
+    private final CategoryClassifier categoryClassifier;
+    private final ExpenseChangeLog changeLog;
 
     @Autowired
-    public ExpenseService(ExpenseRepository expenseRepository, UserRepository userRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository, UserRepository userRepository,
+                          CategoryService categoryService, ApplicationEventPublisher eventPublisher,
+                          ArchivedExpenseRepository archivedExpenseRepository, ExpenseArchiver expenseArchiver,
+                          DuplicateDetector duplicateDetector, CategoryClassifier categoryClassifier,
+                          ExpenseChangeLog changeLog) {
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.eventPublisher = eventPublisher;
+        this.archivedExpenseRepository = archivedExpenseRepository;
+        this.expenseArchiver = expenseArchiver;
+        this.duplicateDetector = duplicateDetector;
+        this.categoryClassifier = categoryClassifier;
+        this.changeLog = changeLog;
     }
 
     @Transactional
@@ -33,15 +81,81 @@ public class ExpenseService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        Expense expense = new Expense();
-        expense.setDescription(expenseDto.getDescription());
-        expense.setAmount(expenseDto.getAmount());
-        expense.setDate(expenseDto.getDate());
-        expense.setCategory(expenseDto.getCategory());
-        expense.setUser(user);
+        return create(expenseDto, user);
+    }
 
-        Expense savedExpense = expenseRepository.save(expense);
-        return mapToDto(savedExpense);
+    // Like createExpense, but first looks for a committed expense this one duplicates: with REJECT the create
+    // fails with DuplicateExpenseException, with FLAG the match is returned alongside the new expense. The
+    // check runs under the user's change-log lock, so two concurrent creates of the same expense are checked
+    // one after the other and the second sees the first.
+    @Transactional
+    public CreatedExpense createExpense(CreateExpenseDto expenseDto, String username, DuplicatePolicy policy) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        DuplicateDto duplicate = null;
+        if (policy != DuplicatePolicy.ALLOW) {
+            changeLog.lock(user.getId());
+            duplicate = duplicateDetector.findDuplicate(username, expenseDto.getAmount(), expenseDto.getDate(),
+                    expenseDto.getDescription());
+            if (duplicate != null && policy == DuplicatePolicy.REJECT) {
+                throw new DuplicateExpenseException("Expense looks like a duplicate of expense " + duplicate.getDuplicateOfId());
+            }
+        }
+        ExpenseDto created = create(expenseDto, user);
+        if (duplicate != null) {
+            duplicate.setExpenseId(created.getId());
+        }
+        return new CreatedExpense(created, duplicate);
+    }
+
+    // Inserts the rows in one transaction. Rows without a category get the classifier's prediction. Rows that
+    // look like a committed expense or an earlier row are reported, and with REJECT they are skipped.
+    @Transactional
+    public ImportResultDto importExpenses(List<ImportExpenseDto> rows, String username, DuplicatePolicy policy) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        // Predict before inserting, so models loaded on first use are trained on committed expenses only
+        List<CreateExpenseDto> expenses = new ArrayList<>(rows.size());
+        for (ImportExpenseDto row : rows) {
+            String category = row.getCategory();
+            if (category == null || category.isBlank()) {
+                Integer predicted = categoryClassifier.predict(username, row.getDescription(), row.getAmount());
+                category = predicted == null ? UNCATEGORIZED : categoryService.getName(predicted);
+            }
+            expenses.add(new CreateExpenseDto(row.getDescription(), row.getAmount(), row.getDate(), category));
+        }
+
+        DuplicateDetector.Batch batch = null;
+        if (policy != DuplicatePolicy.ALLOW) {
+            // Held until commit, so rows checked here cannot be duplicated by a concurrent import or create
+            changeLog.lock(user.getId());
+            batch = duplicateDetector.newBatch(username);
+        }
+        List<DuplicateDto> duplicates = new ArrayList<>();
+        int created = 0;
+        for (int row = 0; row < expenses.size(); row++) {
+            CreateExpenseDto expenseDto = expenses.get(row);
+            DuplicateDto duplicate = batch == null ? null
+                    : batch.check(expenseDto.getAmount(), expenseDto.getDate(), expenseDto.getDescription());
+            if (duplicate != null) {
+                duplicate.setRow(row);
+                duplicates.add(duplicate);
+                if (policy == DuplicatePolicy.REJECT) {
+                    continue;
+                }
+            }
+            ExpenseDto expense = create(expenseDto, user);
+            created++;
+            if (duplicate != null) {
+                duplicate.setExpenseId(expense.getId());
+            }
+            if (batch != null) {
+                batch.add(expense);
+            }
+        }
+        return new ImportResultDto(created, duplicates);
     }
 
     @Transactional(readOnly = true)
@@ -49,55 +163,223 @@ public class ExpenseService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return expenseRepository.findByUserId(user.getId()).stream()
+        List<ExpenseDto> expenses = expenseRepository.findByUserId(user.getId()).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
+        archivedExpenseRepository.findByUserId(user.getId()).forEach(archived -> expenses.add(mapToDto(archived)));
+        return expenses;
+    }
+
+    // Date-bounded read (null bounds are open). The archive is always asked: which dates it holds is only known to
+    // the database, and the (user_id, date) index makes a range past its newest row an empty probe
+    @Transactional(readOnly = true)
+    public List<ExpenseDto> getExpensesByUsername(String username, LocalDate from, LocalDate to) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        List<ExpenseDto> expenses = new ArrayList<>();
+        expenseRepository.findByUserIdAndDateRange(user.getId(), from, to).forEach(expense -> expenses.add(mapToDto(expense)));
+        archivedExpenseRepository.findByUserIdAndDateRange(user.getId(), from, to)
+                .forEach(archived -> expenses.add(mapToDto(archived)));
+        return expenses;
+    }
+
+    // Delta sync: the expenses created, updated or deleted since the token, read through the change log so the
+    // cost follows the number of changes rather than the size of the history
+    @Transactional(readOnly = true)
+    public ExpenseSyncDto getChangesSince(String username, String token, int limit) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        ExpenseChangeLog.Page page = changeLog.read(user.getId(), token, limit);
+        List<Long> liveIds = page.changes().stream()
+                .filter(change -> !change.isDeleted())
+                .map(ExpenseChange::getExpenseId)
+                .collect(Collectors.toList());
+        Map<Long, ExpenseDto> current = new HashMap<>();
+        expenseRepository.findAllById(liveIds).forEach(expense -> current.put(expense.getId(), mapToDto(expense)));
+        // Rows missing from the hot table may have been archived since they were logged
+        if (current.size() < liveIds.size()) {
+            archivedExpenseRepository.findAllById(liveIds).forEach(archived -> current.putIfAbsent(archived.getId(), mapToDto(archived)));
+        }
+
+        List<ExpenseSyncChangeDto> changes = new ArrayList<>(page.changes().size());
+        for (ExpenseChange change : page.changes()) {
+            if (change.isDeleted()) {
+                changes.add(new ExpenseSyncChangeDto(change.getExpenseId(), true, null));
+            } else if (current.containsKey(change.getExpenseId())) {
+                changes.add(new ExpenseSyncChangeDto(change.getExpenseId(), false, current.get(change.getExpenseId())));
+            }
+            // Otherwise it is in neither table: deleted after the page was read, and its tombstone comes in a later page
+        }
+        return new ExpenseSyncDto(changes, page.nextToken(), page.hasMore(), page.reset());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getCategoryTotals(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        // Aggregation groups on the integer id; names are only attached to the (small) result
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        for (CategoryTotal total : expenseRepository.sumAmountByCategory(user.getId())) {
+            totals.put(categoryService.getName(total.getCategoryId()), total.getTotal());
+        }
+        for (CategoryTotal total : archivedExpenseRepository.sumAmountByCategory(user.getId())) {
+            totals.merge(categoryService.getName(total.getCategoryId()), total.getTotal(), BigDecimal::add);
+        }
+        return totals;
     }
 
     @Transactional(readOnly = true)
     public ExpenseDto getExpenseByIdAndUsername(Long expenseId, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        Expense expense = expenseRepository.findById(expenseId)
+        Optional<Expense> expense = expenseRepository.findById(expenseId);
+        if (expense.isPresent()) {
+            if (!expense.get().getUser().getId().equals(user.getId())) {
+                throw new AccessDeniedException("You are not authorized to view this expense");
+            }
+            return mapToDto(expense.get());
+        }
+        ArchivedExpense archived = archivedExpenseRepository.findById(expenseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
-
-        if (!expense.getUser().getId().equals(user.getId())) {
+        if (!archived.getUser().getId().equals(user.getId())) {
             throw new AccessDeniedException("You are not authorized to view this expense");
         }
-        return mapToDto(expense);
+        return mapToDto(archived);
     }
 
+    // Self-invocation skips the proxy, so this overload declares the transaction itself
     @Transactional
     public ExpenseDto updateExpense(Long expenseId, CreateExpenseDto expenseDto, String username) {
+        return updateExpense(expenseId, expenseDto, username, null);
+    }
+
+    // expectedVersions come from If-Match; null skips the check but the write is still version-guarded
+    @Transactional
+    public ExpenseDto updateExpense(Long expenseId, CreateExpenseDto expenseDto, String username, Set<Long> expectedVersions) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        // Archived expenses are moved back to the hot table first; a rejected update rolls the move back too
         Expense expense = expenseRepository.findById(expenseId)
+                .or(() -> expenseArchiver.restore(expenseId) ? expenseRepository.findById(expenseId) : Optional.empty())
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
 
         if (!expense.getUser().getId().equals(user.getId())) {
             throw new AccessDeniedException("You are not authorized to update this expense");
         }
+        if (expectedVersions != null && !expectedVersions.contains(expense.getVersion())) {
+            throw new PreconditionFailedException("Expense with id " + expenseId + " has been modified (current version "
+                    + expense.getVersion() + ")");
+        }
+        ExpenseDto previous = mapToDto(expense);
 
         expense.setDescription(expenseDto.getDescription());
         expense.setAmount(expenseDto.getAmount());
         expense.setDate(expenseDto.getDate());
-        expense.setCategory(expenseDto.getCategory());
+        expense.setCategoryId(categoryService.resolveId(expenseDto.getCategory()));
 
-        Expense updatedExpense = expenseRepository.save(expense);
-        return mapToDto(updatedExpense);
+        // The change log counter is taken before the row is written; bulk writes lock in the same order
+        long seq = changeLog.record(user.getId(), expenseId, false);
+        // Flush now so a concurrent update surfaces here and the returned version is the new one
+        Expense updatedExpense = expenseRepository.saveAndFlush(expense);
+        ExpenseDto updated = mapToDto(updatedExpense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(ExpenseChangeType.UPDATED, user.getId(), username, seq, previous, updated));
+        return updated;
     }
 
     @Transactional
     public void deleteExpense(Long expenseId, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        Expense expense = expenseRepository.findById(expenseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
+        Optional<Expense> expense = expenseRepository.findById(expenseId);
+        ExpenseDto previous;
+        long seq;
+        if (expense.isPresent()) {
+            if (!expense.get().getUser().getId().equals(user.getId())) {
+                throw new AccessDeniedException("You are not authorized to delete this expense");
+            }
+            previous = mapToDto(expense.get());
+            seq = changeLog.record(user.getId(), expenseId, true);
+            expenseRepository.delete(expense.get());
+        } else {
+            ArchivedExpense archived = archivedExpenseRepository.findById(expenseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
+            if (!archived.getUser().getId().equals(user.getId())) {
+                throw new AccessDeniedException("You are not authorized to delete this expense");
+            }
+            previous = mapToDto(archived);
+            seq = changeLog.record(user.getId(), expenseId, true);
+            archivedExpenseRepository.delete(archived);
+        }
+        eventPublisher.publishEvent(new ExpenseChangedEvent(ExpenseChangeType.DELETED, user.getId(), username, seq, previous, null));
+    }
 
-        if (!expense.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("You are not authorized to delete this expense");
+    // Recategorises every matching expense (hot and archived) with one UPDATE per table; returns the count
+    @Transactional
+    public int bulkUpdateCategory(BulkUpdateExpensesDto request, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        ExpenseFilterPredicate filter = toPredicate(request.getFilter(), user.getId());
+        if (filter == null) {
+            return 0;
+        }
+        // Logged first: the filter may name the categories being replaced
+        long seq = changeLog.recordMatching(user.getId(), filter, false);
+        int updated = expenseRepository.updateCategoryMatching(filter, categoryService.resolveId(request.getCategory()));
+        if (updated > 0) {
+            eventPublisher.publishEvent(new ExpenseChangedEvent(ExpenseChangeType.BULK_UPDATED, user.getId(), username, seq, null, null));
         }
-        expenseRepository.delete(expense);
+        return updated;
+    }
+
+    @Transactional
+    public int bulkDelete(ExpenseFilterDto filterDto, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        ExpenseFilterPredicate filter = toPredicate(filterDto, user.getId());
+        if (filter == null) {
+            return 0;
+        }
+        // Tombstones first: once the rows are gone the filter no longer finds them
+        long seq = changeLog.recordMatching(user.getId(), filter, true);
+        int deleted = expenseRepository.deleteMatching(filter);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new ExpenseChangedEvent(ExpenseChangeType.BULK_DELETED, user.getId(), username, seq, null, null));
+        }
+        return deleted;
+    }
+
+    // Returns null when the filter names only categories that were never used, i.e. it cannot match anything
+    private ExpenseFilterPredicate toPredicate(ExpenseFilterDto filter, Long userId) {
+        List<Integer> categoryIds = null;
+        if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+            categoryIds = filter.getCategories().stream()
+                    .map(categoryService::findId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (categoryIds.isEmpty()) {
+                return null;
+            }
+        }
+        return ExpenseFilterPredicate.forUser(userId, filter.getFrom(), filter.getTo(), categoryIds, filter.getIds());
+    }
+
+    private ExpenseDto create(CreateExpenseDto expenseDto, User user) {
+        Expense expense = new Expense();
+        expense.setDescription(expenseDto.getDescription());
+        expense.setAmount(expenseDto.getAmount());
+        expense.setDate(expenseDto.getDate());
+        expense.setCategoryId(categoryService.resolveId(expenseDto.getCategory()));
+        expense.setUser(user);
+
+        Expense savedExpense = expenseRepository.save(expense);
+        ExpenseDto created = mapToDto(savedExpense);
+        long seq = changeLog.record(user.getId(), savedExpense.getId(), false);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(ExpenseChangeType.CREATED, user.getId(), user.getUsername(), seq, null, created));
+        return created;
     }
 
     // Helper method to map Expense entity to ExpenseDto
@@ -107,7 +389,23 @@ public class ExpenseService {
                 expense.getDescription(),
                 expense.getAmount(),
                 expense.getDate(),
-                expense.getCategory()
+                categoryService.getName(expense.getCategoryId()),
+                expense.getVersion()
         );
     }
+
+    private ExpenseDto mapToDto(ArchivedExpense expense) {
+        return new ExpenseDto(
+                expense.getId(),
+                expense.getDescription(),
+                expense.getAmount(),
+                expense.getDate(),
+                categoryService.getName(expense.getCategoryId()),
+                expense.getVersion()
+        );
+    }
+
+    // A created expense and, when duplicates were checked, the committed expense it looks like (or null)
+    public record CreatedExpense(ExpenseDto expense, DuplicateDto duplicate) {
+    }
 }
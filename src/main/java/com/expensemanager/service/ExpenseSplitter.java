@@ -0,0 +1,82 @@
+package com.expensemanager.service;
+
+import com.expensemanager.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Divides an amount in cents between participants. Every split returns shares that add up to exactly the total;
+ * cents that do not divide evenly go to the participants with the largest remainders, ties in iteration order.
+ */
+final class ExpenseSplitter {
+
+    static final int MAX_WEIGHT = 10_000;
+
+    private ExpenseSplitter() {
+    }
+
+    static <K> Map<K, Long> equal(long totalCents, List<K> participants) {
+        if (participants.isEmpty()) {
+            throw new InvalidRequestException("A split needs at least one participant");
+        }
+        Map<K, Integer> weights = new LinkedHashMap<>();
+        participants.forEach(participant -> weights.put(participant, 1));
+        return shares(totalCents, weights);
+    }
+
+    // Largest remainder method: floor of each proportional share, then one cent each to the largest remainders
+    static <K> Map<K, Long> shares(long totalCents, Map<K, Integer> weights) {
+        if (weights.isEmpty()) {
+            throw new InvalidRequestException("A split needs at least one participant");
+        }
+        long totalWeight = 0;
+        for (Integer weight : weights.values()) {
+            if (weight == null || weight < 1 || weight > MAX_WEIGHT) {
+                throw new InvalidRequestException("Split weights must be between 1 and " + MAX_WEIGHT);
+            }
+            totalWeight += weight;
+        }
+
+        Map<K, Long> shares = new LinkedHashMap<>();
+        List<Remainder<K>> remainders = new ArrayList<>(weights.size());
+        long assigned = 0;
+        for (Map.Entry<K, Integer> entry : weights.entrySet()) {
+            // totalCents < 10^10 and each weight <= 10^4, so the product stays well inside a long
+            long scaled = totalCents * entry.getValue();
+            long share = scaled / totalWeight;
+            shares.put(entry.getKey(), share);
+            remainders.add(new Remainder<>(entry.getKey(), scaled % totalWeight, remainders.size()));
+            assigned += share;
+        }
+        remainders.sort(Comparator.<Remainder<K>>comparingLong(Remainder::value).reversed()
+                .thenComparingInt(Remainder::order));
+        for (int i = 0; i < totalCents - assigned; i++) {
+            shares.merge(remainders.get(i).key(), 1L, Long::sum);
+        }
+        return shares;
+    }
+
+    static <K> Map<K, Long> exact(long totalCents, Map<K, Long> amounts) {
+        if (amounts.isEmpty()) {
+            throw new InvalidRequestException("A split needs at least one participant");
+        }
+        long sum = 0;
+        for (Long amount : amounts.values()) {
+            if (amount == null || amount < 0) {
+                throw new InvalidRequestException("Split amounts must not be negative");
+            }
+            sum += amount;
+        }
+        if (sum != totalCents) {
+            throw new InvalidRequestException("Split amounts must add up to the expense amount");
+        }
+        return new LinkedHashMap<>(amounts);
+    }
+
+    private record Remainder<K>(K key, long value, int order) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.AddGroupMemberDto;
+import com.expensemanager.dto.CreateGroupDto;
+import com.expensemanager.dto.CreateSharedExpenseDto;
+import com.expensemanager.dto.GroupDto;
+import com.expensemanager.dto.MemberBalanceDto;
+import com.expensemanager.dto.SharedExpenseDto;
+import com.expensemanager.dto.TransferDto;
+import com.expensemanager.entity.ExpenseGroup;
+import com.expensemanager.entity.GroupMember;
+import com.expensemanager.entity.SharedExpense;
+import com.expensemanager.entity.SharedExpenseShare;
+import com.expensemanager.entity.User;
+import com.expensemanager.exception.InvalidRequestException;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.ExpenseGroupRepository;
+import com.expensemanager.repository.GroupMemberRepository;
+import com.expensemanager.repository.SharedExpenseRepository;
+import com.expensemanager.repository.UserRepository;
+import com.expensemanager.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Groups of users who split expenses. Each member's net balance is stored on the membership row and adjusted with
+ * relative UPDATEs whenever a shared expense is added or removed, so balances and settlement plans are computed
+ * from one row per member instead of from the group's expense history.
+ */
+@Service
+public class GroupService {
+
+    private final ExpenseGroupRepository groupRepository;
+    private final GroupMemberRepository memberRepository;
+    private final SharedExpenseRepository sharedExpenseRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public GroupService(ExpenseGroupRepository groupRepository, GroupMemberRepository memberRepository,
+                        SharedExpenseRepository sharedExpenseRepository, UserRepository userRepository) {
+        this.groupRepository = groupRepository;
+        this.memberRepository = memberRepository;
+        this.sharedExpenseRepository = sharedExpenseRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public GroupDto createGroup(CreateGroupDto dto, String username) {
+        User creator = findUser(username);
+        Map<String, User> members = new LinkedHashMap<>();
+        members.put(creator.getUsername(), creator);
+        if (dto.getMembers() != null) {
+            for (String member : dto.getMembers()) {
+                members.computeIfAbsent(member, this::findUser);
+            }
+        }
+        ExpenseGroup group = groupRepository.save(new ExpenseGroup(null, dto.getName()));
+        members.values().forEach(user -> memberRepository.save(new GroupMember(null, group, user, 0)));
+        return new GroupDto(group.getId(), group.getName(), new ArrayList<>(members.keySet()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<GroupDto> getGroups(String username) {
+        User user = findUser(username);
+        return groupRepository.findByMemberUserId(user.getId()).stream()
+                .map(group -> toDto(group, memberRepository.findByGroupIdWithUser(group.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public GroupDto addMember(Long groupId, AddGroupMemberDto dto, String username) {
+        Map<String, GroupMember> members = requireMembership(groupId, findUser(username));
+        ExpenseGroup group = groupRepository.getReferenceById(groupId);
+        if (!members.containsKey(dto.getUsername())) {
+            memberRepository.save(new GroupMember(null, group, findUser(dto.getUsername()), 0));
+        }
+        return toDto(group, memberRepository.findByGroupIdWithUser(groupId));
+    }
+
+    // O(members): reads the stored balances
+    @Transactional(readOnly = true)
+    public List<MemberBalanceDto> getBalances(Long groupId, String username) {
+        return requireMembership(groupId, findUser(username)).values().stream()
+                .map(member -> new MemberBalanceDto(member.getUser().getUsername(), BigDecimal.valueOf(member.getBalanceCents(), 2)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferDto> getSettlement(Long groupId, String username) {
+        Map<String, Long> balances = new LinkedHashMap<>();
+        requireMembership(groupId, findUser(username)).forEach((name, member) -> balances.put(name, member.getBalanceCents()));
+        return SettlementPlanner.plan(balances).stream()
+                .map(transfer -> new TransferDto(transfer.from(), transfer.to(), BigDecimal.valueOf(transfer.cents(), 2)))
+                .collect(Collectors.toList());
+    }
+
+    // Settling a transfer is recorded the same way: an EXACT split paid by the debtor with the creditor's share
+    @Transactional
+    public SharedExpenseDto addSharedExpense(Long groupId, CreateSharedExpenseDto dto, String username) {
+        User caller = findUser(username);
+        Map<String, GroupMember> members = requireMembership(groupId, caller);
+        GroupMember payer = memberOf(members, dto.getPaidBy() == null ? caller.getUsername() : dto.getPaidBy());
+        long totalCents = Money.toCents(dto.getAmount());
+        Map<String, Long> shares = switch (dto.getSplit()) {
+            case EQUAL -> ExpenseSplitter.equal(totalCents, participants(members, dto.getParticipants()));
+            case SHARES -> {
+                if (dto.getWeights() == null) {
+                    throw new InvalidRequestException("A SHARES split needs weights");
+                }
+                dto.getWeights().keySet().forEach(name -> memberOf(members, name));
+                yield ExpenseSplitter.shares(totalCents, dto.getWeights());
+            }
+            case EXACT -> {
+                if (dto.getAmounts() == null) {
+                    throw new InvalidRequestException("An EXACT split needs amounts");
+                }
+                Map<String, Long> amounts = new LinkedHashMap<>();
+                dto.getAmounts().forEach((name, amount) -> {
+                    memberOf(members, name);
+                    amounts.put(name, amount == null ? null : Money.toCents(amount));
+                });
+                yield ExpenseSplitter.exact(totalCents, amounts);
+            }
+        };
+
+        SharedExpense expense = new SharedExpense();
+        expense.setGroup(payer.getGroup());
+        expense.setPaidBy(payer.getUser());
+        expense.setDescription(dto.getDescription());
+        expense.setAmount(dto.getAmount());
+        expense.setDate(dto.getDate());
+        expense.setSplit(dto.getSplit());
+        shares.forEach((name, cents) ->
+                expense.getShares().add(new SharedExpenseShare(null, expense, members.get(name).getUser(), cents)));
+        SharedExpense saved = sharedExpenseRepository.save(expense);
+
+        applyBalanceChanges(groupId, saved, 1);
+        return mapToDto(saved);
+    }
+
+    @Transactional
+    public void deleteSharedExpense(Long groupId, Long expenseId, String username) {
+        requireMembership(groupId, findUser(username));
+        SharedExpense expense = sharedExpenseRepository.findByIdAndGroupId(expenseId, groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shared expense not found with id: " + expenseId));
+        applyBalanceChanges(groupId, expense, -1);
+        sharedExpenseRepository.delete(expense);
+    }
+
+    // The payer is owed every share; each participant owes theirs. Rows are updated in user id order so two
+    // expenses touching the same members always lock them in the same order.
+    private void applyBalanceChanges(Long groupId, SharedExpense expense, int sign) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (SharedExpenseShare share : expense.getShares()) {
+            deltas.merge(expense.getPaidBy().getId(), sign * share.getAmountCents(), Long::sum);
+            deltas.merge(share.getUser().getId(), -sign * share.getAmountCents(), Long::sum);
+        }
+        deltas.forEach((userId, delta) -> {
+            if (delta != 0) {
+                memberRepository.addToBalance(groupId, userId, delta);
+            }
+        });
+    }
+
+    // Username -> membership in user id order; the caller must be a member
+    private Map<String, GroupMember> requireMembership(Long groupId, User user) {
+        List<GroupMember> rows = memberRepository.findByGroupIdWithUser(groupId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Group not found with id: " + groupId);
+        }
+        Map<String, GroupMember> members = new LinkedHashMap<>();
+        rows.forEach(member -> members.put(member.getUser().getUsername(), member));
+        if (!members.containsKey(user.getUsername())) {
+            throw new AccessDeniedException("You are not a member of this group");
+        }
+        return members;
+    }
+
+    private static GroupMember memberOf(Map<String, GroupMember> members, String username) {
+        GroupMember member = members.get(username);
+        if (member == null) {
+            throw new InvalidRequestException("User " + username + " is not a member of this group");
+        }
+        return member;
+    }
+
+    private static List<String> participants(Map<String, GroupMember> members, List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return new ArrayList<>(members.keySet());
+        }
+        requested.forEach(name -> memberOf(members, name));
+        return requested.stream().distinct().collect(Collectors.toList());
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    private static GroupDto toDto(ExpenseGroup group, List<GroupMember> members) {
+        return new GroupDto(group.getId(), group.getName(),
+                members.stream().map(member -> member.getUser().getUsername()).collect(Collectors.toList()));
+    }
+
+    private static SharedExpenseDto mapToDto(SharedExpense expense) {
+        Map<String, BigDecimal> shares = new LinkedHashMap<>();
+        expense.getShares().forEach(share -> shares.put(share.getUser().getUsername(), BigDecimal.valueOf(share.getAmountCents(), 2)));
+        return new SharedExpenseDto(
+                expense.getId(),
+                expense.getDescription(),
+                expense.getAmount(),
+                expense.getDate(),
+                expense.getPaidBy().getUsername(),
+                expense.getSplit(),
+                shares
+        );
+    }
+}
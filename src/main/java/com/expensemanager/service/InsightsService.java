@@ -0,0 +1,265 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CategoryInsightDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.InsightsDto;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.util.Money;
+import com.expensemanager.util.QuantileSketch;
+import com.expensemanager.util.TopN;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spending insights per user and month: count, total, median and p90 per category plus the largest expenses.
+ * Each (user, category, month) keeps a QuantileSketch and a bounded heap of the largest expenses that committed
+ * writes update in place, so answering costs a merge of a few small sketches rather than a scan of the user's
+ * expenses. Only the heap candidates are held, never the month's rows.
+ *
+ * State is held in memory only, rebuilt from the expense tables (hot and archive) the first time a month is
+ * asked for, and dropped when the user has not read insights for idle-ms; a few recent months are kept per
+ * user. The held months are stamped with the user's change-log sequence number: a committed write is applied
+ * only if it is the next number, and a read first compares the stamp with the user's counter row. A write that
+ * this instance did not see (made on another instance, or not yet delivered here) therefore makes the months
+ * stale, and they are rebuilt instead of being answered from.
+ */
+@Service
+public class InsightsService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    // Larger amounts first, ties broken by id so the order is total
+    private static final Comparator<ExpenseDto> BY_AMOUNT = Comparator.comparing(ExpenseDto::getAmount)
+            .thenComparing(ExpenseDto::getId);
+
+    private final ExpenseService expenseService;
+    private final ExpenseChangeLog changeLog;
+    private final double relativeAccuracy;
+    private final int topSize;
+    private final int maxMonthsPerUser;
+    private final long idleMillis;
+
+    private final Map<String, UserInsights> users = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InsightsService(ExpenseService expenseService, ExpenseChangeLog changeLog,
+                           @Value("${insights.relative-accuracy:0.01}") double relativeAccuracy,
+                           @Value("${insights.top-size:10}") int topSize,
+                           @Value("${insights.max-months-per-user:3}") int maxMonthsPerUser,
+                           @Value("${insights.idle-ms:600000}") long idleMillis) {
+        this.expenseService = expenseService;
+        this.changeLog = changeLog;
+        this.relativeAccuracy = relativeAccuracy;
+        this.topSize = topSize;
+        this.maxMonthsPerUser = maxMonthsPerUser;
+        this.idleMillis = idleMillis;
+    }
+
+    // Runs its reads in their own transactions, so callers must not already be inside one
+    public InsightsDto getInsights(String username, YearMonth month) {
+        UserInsights state = users.computeIfAbsent(username, name -> new UserInsights());
+        for (int attempt = 1; ; attempt++) {
+            long seq = changeLog.lastSeq(username);
+            InsightsDto insights = state.summarize(month, seq);
+            if (insights != null) {
+                return insights;
+            }
+            List<ExpenseDto> expenses = expenseService.getExpensesByUsername(username, month.atDay(1), month.atEndOfMonth());
+            // The rows reflect exactly write seq only if no write committed while they were read
+            if (changeLog.lastSeq(username) == seq) {
+                return state.install(month, seq, expenses);
+            }
+            if (attempt >= MAX_LOAD_ATTEMPTS) {
+                // Writes keep landing during the rebuild; answer from this read without caching it
+                MonthInsights uncached = new MonthInsights();
+                expenses.forEach(uncached::add);
+                return uncached.summarize(month);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserInsights state = users.get(event.getUsername());
+        if (state != null) {
+            state.apply(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${insights.idle-ms:600000}")
+    public void evictIdleUsers() {
+        long now = System.currentTimeMillis();
+        users.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    // One user's months, least recently read evicted first; all access is synchronized on this object
+    private class UserInsights {
+
+        private final LinkedHashMap<YearMonth, MonthInsights> months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthInsights> eldest) {
+                return size() > maxMonthsPerUser;
+            }
+        };
+        // The user's last write reflected in the held months
+        private long seq;
+        private long lastUsed = System.currentTimeMillis();
+
+        // Null if the month is not held or the held months are behind the user's latest write
+        synchronized InsightsDto summarize(YearMonth month, long currentSeq) {
+            lastUsed = System.currentTimeMillis();
+            if (seq != currentSeq) {
+                return null;
+            }
+            MonthInsights insights = months.get(month);
+            return insights == null ? null : insights.summarize(month);
+        }
+
+        synchronized InsightsDto install(YearMonth month, long loadSeq, List<ExpenseDto> expenses) {
+            if (loadSeq != seq) {
+                // Months held at another position cannot be combined with this one
+                months.clear();
+                seq = loadSeq;
+            }
+            MonthInsights insights = new MonthInsights();
+            expenses.forEach(insights::add);
+            months.put(month, insights);
+            return insights.summarize(month);
+        }
+
+        synchronized void apply(ExpenseChangedEvent event) {
+            if (event.getSeq() <= seq) {
+                return; // Already part of a rebuild that read after it committed
+            }
+            boolean next = event.getSeq() == seq + 1;
+            seq = event.getSeq();
+            switch (event.getType()) {
+                case CREATED, UPDATED, DELETED -> {
+                    if (next) {
+                        patch(event.getPrevious(), event.getCurrent());
+                    } else {
+                        // A write in between was missed; the months cannot be patched past it
+                        months.clear();
+                    }
+                }
+                // Set-based writes do not say which rows changed
+                case BULK_UPDATED, BULK_DELETED, GENERATED -> months.clear();
+            }
+        }
+
+        synchronized boolean isIdle(long now) {
+            return now - lastUsed >= idleMillis;
+        }
+
+        private void patch(ExpenseDto previous, ExpenseDto current) {
+            if (previous != null) {
+                YearMonth month = YearMonth.from(previous.getDate());
+                MonthInsights insights = months.get(month);
+                if (insights != null && !insights.remove(previous)) {
+                    // A category lost the heap candidates it needs; rebuild the month from the database
+                    months.remove(month);
+                }
+            }
+            if (current != null) {
+                MonthInsights insights = months.get(YearMonth.from(current.getDate()));
+                if (insights != null) {
+                    insights.add(current);
+                }
+            }
+        }
+    }
+
+    private class MonthInsights {
+
+        private final Map<String, CategoryInsights> categories = new HashMap<>();
+
+        void add(ExpenseDto expense) {
+            categories.computeIfAbsent(expense.getCategory(), category -> new CategoryInsights()).add(expense);
+        }
+
+        // Returns false if the category's top expenses can no longer be answered from its heap
+        boolean remove(ExpenseDto expense) {
+            CategoryInsights category = categories.get(expense.getCategory());
+            if (category == null) {
+                return false;
+            }
+            boolean complete = category.remove(expense);
+            if (category.sketch.count() == 0) {
+                categories.remove(expense.getCategory());
+            }
+            return complete;
+        }
+
+        InsightsDto summarize(YearMonth month) {
+            QuantileSketch allSketch = new QuantileSketch(relativeAccuracy);
+            TopN<ExpenseDto> allTop = new TopN<>(topSize, BY_AMOUNT);
+            long allCents = 0;
+            List<CategoryInsightDto> rows = new ArrayList<>();
+            for (Map.Entry<String, CategoryInsights> entry : categories.entrySet()) {
+                CategoryInsights category = entry.getValue();
+                rows.add(toDto(entry.getKey(), category.sketch, category.totalCents));
+                allSketch.merge(category.sketch);
+                category.top.values().forEach(allTop::offer);
+                allCents += category.totalCents;
+            }
+            rows.sort(Comparator.comparing(CategoryInsightDto::getTotal).reversed());
+            return new InsightsDto(month.atDay(1), relativeAccuracy, toDto(null, allSketch, allCents), rows, allTop.values());
+        }
+
+        private CategoryInsightDto toDto(String category, QuantileSketch sketch, long totalCents) {
+            boolean empty = sketch.count() == 0;
+            return new CategoryInsightDto(
+                    category,
+                    sketch.count(),
+                    BigDecimal.valueOf(totalCents, 2),
+                    empty ? null : BigDecimal.valueOf(sketch.quantile(0.5), 2),
+                    empty ? null : BigDecimal.valueOf(sketch.quantile(0.9), 2)
+            );
+        }
+    }
+
+    // The heap holds twice the reported size, so most removals leave enough candidates to answer from
+    private class CategoryInsights {
+
+        private final QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+        private final TopN<ExpenseDto> top = new TopN<>(2 * topSize, BY_AMOUNT);
+        private long totalCents;
+        // The heap contains at least this many of the category's largest expenses; only removals lower it
+        private int exact;
+
+        void add(ExpenseDto expense) {
+            long cents = Money.toCents(expense.getAmount());
+            sketch.add(cents);
+            totalCents += cents;
+            top.offer(expense);
+            if (top.size() == sketch.count()) {
+                exact = top.size();
+            }
+        }
+
+        // Returns false once the heap may be missing one of the category's topSize largest expenses
+        boolean remove(ExpenseDto expense) {
+            long cents = Money.toCents(expense.getAmount());
+            sketch.remove(cents);
+            totalCents -= cents;
+            if (top.removeIf(held -> held.getId().equals(expense.getId()))) {
+                exact--;
+            }
+            return exact >= topSize || top.size() == sketch.count();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BudgetAlertDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sender until a real notification channel is wired in (declare it @Primary)
+@Component
+public class LoggingBudgetAlertSender implements BudgetAlertSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingBudgetAlertSender.class);
+
+    @Override
+    public void send(String username, List<BudgetAlertDto> alerts) {
+        for (BudgetAlertDto alert : alerts) {
+            log.info("Budget alert for {}: {} reached {}% of {} in {} ({} spent)", username, alert.getCategory(),
+                    alert.getThresholdPercent(), alert.getBudgetAmount(), alert.getMonth(), alert.getSpent());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.RecurringExpense;
+import com.expensemanager.entity.User;
+import com.expensemanager.event.ExpenseChangeType;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.repository.RecurringExpenseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inserts the due occurrences of recurring expense templates.
+ *
+ * Due templates are found with an index scan on next_run_date and processed in batches: each batch locks its
+ * templates, inserts all their occurrences up to today with one JDBC batch, and advances next_run_date with a
+ * second one, all in a single transaction. A restart therefore resumes exactly where the last committed batch
+ * stopped, and after downtime the next run catches up on every missed occurrence. The unique
+ * (recurring_expense_id, date) key on expenses rejects a batch outright if an occurrence was inserted twice.
+ */
+@Service
+public class RecurringExpenseGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringExpenseGenerator.class);
+
+    private static final String INSERT_EXPENSE = "insert into expenses " +
+            "(description, amount, date, category_id, user_id, recurring_expense_id, version) values (?, ?, ?, ?, ?, ?, 0)";
+    private static final String ADVANCE_TEMPLATE = "update recurring_expenses set next_run_date = ? where id = ?";
+    private static final String[] EXPENSE_TABLES = {"expenses"};
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final BudgetService budgetService;
+    private final ExpenseChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+
+    private final Counter generatedExpenses;
+    private final Counter processedTemplates;
+    private final Timer runTimer;
+    // Days between the oldest pending occurrence and today as of the last run; 0 when caught up
+    private final AtomicLong lagDays = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public RecurringExpenseGenerator(RecurringExpenseRepository recurringExpenseRepository, BudgetService budgetService,
+                                     ExpenseChangeLog changeLog, ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${recurring.batch-size:500}") int batchSize) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.budgetService = budgetService;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.generatedExpenses = meterRegistry.counter("recurring.expenses.generated");
+        this.processedTemplates = meterRegistry.counter("recurring.templates.processed");
+        this.runTimer = meterRegistry.timer("recurring.generation.duration");
+        meterRegistry.gauge("recurring.generation.lag.days", lagDays);
+    }
+
+    @Scheduled(fixedDelayString = "${recurring.poll-interval-ms:60000}")
+    public void generateDueExpenses() {
+        int generated = generateThrough(LocalDate.now());
+        if (generated > 0) {
+            log.info("Generated {} recurring expenses", generated);
+        }
+    }
+
+    // Generates every occurrence dated on or before the given day and returns how many expenses were inserted
+    public int generateThrough(LocalDate today) {
+        Integer generated = runTimer.record(() -> {
+            int total = 0;
+            while (true) {
+                BatchResult batch = transaction.execute(status -> generateBatch(today));
+                total += batch.expenses();
+                if (batch.templates() < batchSize) {
+                    return total;
+                }
+            }
+        });
+        LocalDate oldest = recurringExpenseRepository.findEarliestNextRunDate().orElse(null);
+        lagDays.set(oldest == null || oldest.isAfter(today) ? 0 : ChronoUnit.DAYS.between(oldest, today));
+        return generated;
+    }
+
+    // Every template in a batch ends with next_run_date after today (or null), so the next scan starts past it
+    private BatchResult generateBatch(LocalDate today) {
+        List<RecurringExpense> due = entityManager.createQuery(
+                        "select r from RecurringExpense r where r.nextRunDate <= :today order by r.nextRunDate, r.id",
+                        RecurringExpense.class)
+                .setParameter("today", today)
+                .setMaxResults(batchSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (due.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<Object[]> expenses = new ArrayList<>();
+        List<Object[]> advances = new ArrayList<>(due.size());
+        Map<SpendKey, BigDecimal> spend = new HashMap<>();
+        Map<Long, User> users = new LinkedHashMap<>();
+        // Ordered by user, so concurrent batches take the change log counters in the same order
+        Map<Long, List<Long>> templatesByUser = new TreeMap<>();
+        for (RecurringExpense template : due) {
+            Long userId = template.getUser().getId();
+            LocalDate next = template.getNextRunDate();
+            CronExpression schedule = parse(template);
+            while (next != null && !next.isAfter(today)) {
+                if (template.getEndDate() != null && next.isAfter(template.getEndDate())) {
+                    next = null;
+                    break;
+                }
+                expenses.add(new Object[]{template.getDescription(), template.getAmount(), Date.valueOf(next),
+                        template.getCategoryId(), userId, template.getId()});
+                spend.merge(new SpendKey(userId, template.getCategoryId(), next.withDayOfMonth(1)), template.getAmount(), BigDecimal::add);
+                users.putIfAbsent(userId, template.getUser());
+                List<Long> userTemplates = templatesByUser.computeIfAbsent(userId, id -> new ArrayList<>());
+                if (userTemplates.isEmpty() || !userTemplates.get(userTemplates.size() - 1).equals(template.getId())) {
+                    userTemplates.add(template.getId());
+                }
+                next = schedule == null ? null : RecurringExpenseService.nextOccurrence(schedule, next);
+            }
+            if (next != null && template.getEndDate() != null && next.isAfter(template.getEndDate())) {
+                next = null;
+            }
+            advances.add(new Object[]{next == null ? null : Date.valueOf(next), template.getId()});
+        }
+
+        // The JDBC statements join this transaction's connection; entities loaded above are not touched again
+        jdbcTemplate.batchUpdate(INSERT_EXPENSE, expenses);
+        jdbcTemplate.batchUpdate(ADVANCE_TEMPLATE, advances);
+        invalidateCachedQueries();
+        Map<Long, Long> seqs = new HashMap<>();
+        templatesByUser.forEach((userId, templateIds) -> seqs.put(userId, changeLog.recordGenerated(userId, templateIds)));
+        spend.forEach((key, amount) -> budgetService.addSpend(key.userId(), key.categoryId(), key.month(), amount));
+        users.forEach((userId, user) -> eventPublisher.publishEvent(
+                new ExpenseChangedEvent(ExpenseChangeType.GENERATED, userId, user.getUsername(), seqs.get(userId), null, null)));
+
+        generatedExpenses.increment(expenses.size());
+        processedTemplates.increment(due.size());
+        return new BatchResult(due.size(), expenses.size());
+    }
+
+    // A template whose stored schedule no longer parses is stopped rather than failing every batch it lands in
+    private static CronExpression parse(RecurringExpense template) {
+        try {
+            return CronExpression.parse(template.getSchedule());
+        } catch (IllegalArgumentException e) {
+            log.warn("Stopping recurring expense {} with invalid schedule '{}'", template.getId(), template.getSchedule());
+            return null;
+        }
+    }
+
+    // Plain JDBC bypasses Hibernate, so mark the expenses table as modified for cached query results the way a bulk
+    // HQL statement would: blocked until completion, then stamped with the completion time
+    private void invalidateCachedQueries() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        timestamps.preInvalidate(EXPENSE_TABLES, session);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                timestamps.invalidate(EXPENSE_TABLES, session);
+            }
+        });
+    }
+
+    private record SpendKey(Long userId, Integer categoryId, LocalDate month) {
+    }
+
+    private record BatchResult(int templates, int expenses) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateRecurringExpenseDto;
+import com.expensemanager.dto.RecurringExpenseDto;
+import com.expensemanager.entity.RecurringExpense;
+import com.expensemanager.entity.User;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.RecurringExpenseRepository;
+import com.expensemanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class RecurringExpenseService {
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+
+    @Autowired
+    public RecurringExpenseService(RecurringExpenseRepository recurringExpenseRepository, UserRepository userRepository,
+                                   CategoryService categoryService) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+    }
+
+    // Occurrences are whole days: the first day after the given one on which the schedule fires, or null if it never
+    // fires again. Several firings on one day count once.
+    static LocalDate nextOccurrence(CronExpression schedule, LocalDate after) {
+        LocalDateTime next = schedule.next(after.atTime(LocalTime.MAX));
+        return next == null ? null : next.toLocalDate();
+    }
+
+    @Transactional
+    public RecurringExpenseDto createRecurringExpense(CreateRecurringExpenseDto dto, String username) {
+        User user = findUser(username);
+        CronExpression schedule = CronExpression.parse(dto.getSchedule());
+        LocalDate firstRun = nextOccurrence(schedule, dto.getStartDate().minusDays(1));
+        if (firstRun != null && dto.getEndDate() != null && firstRun.isAfter(dto.getEndDate())) {
+            firstRun = null;
+        }
+
+        RecurringExpense template = new RecurringExpense();
+        template.setUser(user);
+        template.setDescription(dto.getDescription());
+        template.setAmount(dto.getAmount());
+        template.setCategoryId(categoryService.resolveId(dto.getCategory()));
+        template.setSchedule(dto.getSchedule());
+        template.setStartDate(dto.getStartDate());
+        template.setEndDate(dto.getEndDate());
+        // Past occurrences (a start date before today) are caught up on the generator's next run
+        template.setNextRunDate(firstRun);
+        return mapToDto(recurringExpenseRepository.save(template));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseDto> getRecurringExpenses(String username) {
+        User user = findUser(username);
+        return recurringExpenseRepository.findByUserIdOrderById(user.getId()).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    // Stops future occurrences; expenses already generated stay
+    @Transactional
+    public void deleteRecurringExpense(Long id, String username) {
+        User user = findUser(username);
+        RecurringExpense template = recurringExpenseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring expense not found with id: " + id));
+        if (!template.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You are not authorized to delete this recurring expense");
+        }
+        recurringExpenseRepository.delete(template);
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    private RecurringExpenseDto mapToDto(RecurringExpense template) {
+        return new RecurringExpenseDto(
+                template.getId(),
+                template.getDescription(),
+                template.getAmount(),
+                categoryService.getName(template.getCategoryId()),
+                template.getSchedule(),
+                template.getStartDate(),
+                template.getEndDate(),
+                template.getNextRunDate()
+        );
+    }
+}
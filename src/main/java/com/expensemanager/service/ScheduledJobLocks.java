@@ -0,0 +1,71 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.ScheduledJobLock;
+import com.expensemanager.repository.ScheduledJobLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leases in the scheduled_job_locks table, so a @Scheduled job that fires on every instance runs on one of
+ * them. A lease is taken with a conditional UPDATE and held until the job releases it or it expires, so an
+ * instance that dies mid-run blocks the job for at most the lease length. Expiry is judged by each instance's
+ * own clock; leases should be long compared with the clock skew between instances.
+ */
+@Service
+public class ScheduledJobLocks {
+
+    // Identifies this instance as the holder, so it can only release leases it took itself
+    private final String owner = UUID.randomUUID().toString();
+
+    private final ScheduledJobLockRepository lockRepository;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public ScheduledJobLocks(ScheduledJobLockRepository lockRepository, PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Returns true if this instance now holds the job's lease; commits at once so the other instances see it
+    public boolean tryAcquire(String job, Duration lease) {
+        if (acquire(job, lease)) {
+            return true;
+        }
+        if (lockRepository.existsById(job)) {
+            return false;
+        }
+        createRow(job);
+        return acquire(job, lease);
+    }
+
+    public void release(String job) {
+        newTransaction.executeWithoutResult(status -> lockRepository.release(job, owner, LocalDateTime.now()));
+    }
+
+    private boolean acquire(String job, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = newTransaction.execute(status -> lockRepository.acquire(job, owner, now, now.plus(lease)));
+        return updated != null && updated == 1;
+    }
+
+    private void createRow(String job) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!lockRepository.existsById(job)) {
+                    lockRepository.saveAndFlush(new ScheduledJobLock(job, LocalDateTime.now(), null));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row concurrently; it is committed now
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensemanager.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Turns group balances into transfers that settle everyone. Greedy: the largest debtor pays the largest creditor
+ * as much as possible, and whoever is left with a balance goes back on its heap. Each step settles at least one
+ * member, so n members need at most n - 1 transfers in O(n log n). Finding the true minimum is NP-hard (it
+ * contains subset-sum); the greedy plan is optimal whenever no subgroup happens to balance out on its own.
+ */
+final class SettlementPlanner {
+
+    private SettlementPlanner() {
+    }
+
+    record Transfer(String from, String to, long cents) {
+    }
+
+    static List<Transfer> plan(Map<String, Long> balances) {
+        Comparator<Position> largestFirst = Comparator.comparingLong(Position::cents).reversed()
+                .thenComparing(Position::member);
+        PriorityQueue<Position> creditors = new PriorityQueue<>(largestFirst);
+        PriorityQueue<Position> debtors = new PriorityQueue<>(largestFirst);
+        balances.forEach((member, cents) -> {
+            if (cents > 0) {
+                creditors.add(new Position(member, cents));
+            } else if (cents < 0) {
+                debtors.add(new Position(member, -cents));
+            }
+        });
+
+        List<Transfer> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            Position creditor = creditors.poll();
+            Position debtor = debtors.poll();
+            long amount = Math.min(creditor.cents(), debtor.cents());
+            transfers.add(new Transfer(debtor.member(), creditor.member(), amount));
+            if (creditor.cents() > amount) {
+                creditors.add(new Position(creditor.member(), creditor.cents() - amount));
+            }
+            if (debtor.cents() > amount) {
+                debtors.add(new Position(debtor.member(), debtor.cents() - amount));
+            }
+        }
+        return transfers;
+    }
+
+    // Amount still to receive (creditors) or to pay (debtors), always positive
+    private record Position(String member, long cents) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.expensemanager.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson module for the binary formats (CBOR, Smile) that writes every BigDecimal as an integer number of
+ * cents and reads it back. All decimals in the API are money amounts. A small integer is one to five bytes in
+ * either format, while a decimal costs a scale and an arbitrary-precision unscaled value.
+ *
+ * Only integers are accepted on input. Otherwise 5 and 5.0 would mean different amounts.
+ */
+public class CentsModule extends SimpleModule {
+
+    public CentsModule() {
+        super("CentsModule");
+        addSerializer(BigDecimal.class, new CentsSerializer());
+        addDeserializer(BigDecimal.class, new CentsDeserializer());
+    }
+
+    private static class CentsSerializer extends JsonSerializer<BigDecimal> {
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(Money.toCents(value));
+        }
+    }
+
+    private static class CentsDeserializer extends JsonDeserializer<BigDecimal> {
+
+        @Override
+        public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+            }
+            return BigDecimal.valueOf(parser.getLongValue(), 2);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.expensemanager.util;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of expense descriptions. A description is normalised (lower case, letters only, single
+ * spaces) so bank reference numbers and punctuation do not matter, cut into overlapping 3-character shingles,
+ * and each of SIZE seeded hash functions keeps its minimum over the shingles. The fraction of equal signature
+ * positions estimates the Jaccard similarity of the two shingle sets (standard error about 0.09 at SIZE = 32).
+ *
+ * Computing a signature walks the description once and allocates only the returned array.
+ */
+public final class MinHash {
+
+    public static final int SIZE = 32;
+    private static final int SHINGLE = 3;
+    private static final int[] SEEDS = new int[SIZE];
+
+    static {
+        // Fixed seeds so signatures are comparable across restarts
+        long state = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = (int) mix64(state);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String description) {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        // Normalises on the fly, keeping the previous two characters of the normalised text
+        char c0 = 0;
+        char c1 = 0;
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (!Character.isLetter(c)) {
+                pendingSpace = length > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                pendingSpace = false;
+                length = shift(signature, c0, c1, ' ', length);
+                c0 = c1;
+                c1 = ' ';
+            }
+            char lower = Character.toLowerCase(c);
+            length = shift(signature, c0, c1, lower, length);
+            c0 = c1;
+            c1 = lower;
+        }
+        if (length > 0 && length < SHINGLE) {
+            // Too short for a full shingle: the whole (one or two letter) text is the only shingle
+            offer(signature, (c0 << 16) | c1);
+        }
+        return signature;
+    }
+
+    // Estimated Jaccard similarity; a description without any letters has no shingles and matches nothing
+    public static double similarity(int[] a, int[] b) {
+        if (isEmpty(a) || isEmpty(b)) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    // Every position still at its initial value: no shingle was offered
+    private static boolean isEmpty(int[] signature) {
+        for (int hash : signature) {
+            if (hash != Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int shift(int[] signature, char c0, char c1, char c2, int length) {
+        length++;
+        if (length >= SHINGLE) {
+            offer(signature, (c0 * 31 + c1) * 31 + c2);
+        }
+        return length;
+    }
+
+    private static void offer(int[] signature, int shingle) {
+        for (int i = 0; i < SIZE; i++) {
+            int hash = mix32(shingle ^ SEEDS[i]);
+            if (hash < signature[i]) {
+                signature[i] = hash;
+            }
+        }
+    }
+
+    // MurmurHash3 finalizers
+    private static int mix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
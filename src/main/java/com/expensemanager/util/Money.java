@@ -0,0 +1,18 @@
+package com.expensemanager.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts as whole cents, for services that keep running totals in longs. Amounts are stored with two
+ * decimals, so the conversion rounds half up like the database column does.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,172 @@
+package com.expensemanager.util;
+
+import java.util.Arrays;
+
+/**
+ * Multinomial naive Bayes over integer labels and hashed integer features, trained incrementally. All state lives
+ * in primitive arrays: per-label document and token counts, plus an open-addressing table from (label, feature)
+ * to count, so a model costs a few bytes per distinct pair it has seen and scoring allocates nothing.
+ *
+ * Examples can be removed again (weight -1), which is how an edited or deleted expense is unlearned. Not
+ * thread-safe; callers guard each model with their own lock.
+ */
+public class NaiveBayesModel {
+
+    private static final long EMPTY = -1L;
+    private static final float MAX_LOAD = 0.6f;
+
+    // Per label slot
+    private int[] labels = new int[4];
+    private int[] docs = new int[4];
+    private long[] tokens = new long[4];
+    private int labelCount;
+    private long totalDocs;
+
+    // (slot << 32 | feature) -> count
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    // Features seen by any label, for Laplace smoothing
+    private final long[] seenFeatures;
+    private int distinctFeatures;
+
+    // Features are expected in [0, featureSpace)
+    public NaiveBayesModel(int featureSpace) {
+        this.seenFeatures = new long[(featureSpace + 63) / 64];
+        this.keys = new long[64];
+        this.counts = new int[64];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int labelCount() {
+        return labelCount;
+    }
+
+    public int label(int slot) {
+        return labels[slot];
+    }
+
+    public int docs(int slot) {
+        return docs[slot];
+    }
+
+    public long totalDocs() {
+        return totalDocs;
+    }
+
+    // Learns (weight 1) or unlearns (weight -1) one example made of the first n features
+    public void add(int label, int[] features, int n, int weight) {
+        int slot = slotOf(label);
+        if (slot < 0) {
+            if (weight < 0) {
+                return;
+            }
+            slot = newSlot(label);
+        } else if (weight < 0 && docs[slot] == 0) {
+            return; // nothing left to unlearn
+        }
+        docs[slot] += weight;
+        totalDocs += weight;
+        tokens[slot] += (long) n * weight;
+        for (int i = 0; i < n; i++) {
+            int feature = features[i];
+            increment(((long) slot << 32) | feature, weight);
+            if (weight > 0 && (seenFeatures[feature >>> 6] & (1L << feature)) == 0) {
+                seenFeatures[feature >>> 6] |= 1L << feature;
+                distinctFeatures++;
+            }
+        }
+    }
+
+    // Writes the unnormalised log posterior of every label slot into scores and returns the number of slots
+    public int logScores(int[] features, int n, double[] scores) {
+        double vocabulary = Math.max(distinctFeatures, 1);
+        double logDocs = Math.log(totalDocs + labelCount);
+        for (int slot = 0; slot < labelCount; slot++) {
+            double score = Math.log(docs[slot] + 1) - logDocs;
+            double logTokens = Math.log(tokens[slot] + vocabulary);
+            for (int i = 0; i < n; i++) {
+                score += Math.log(count(((long) slot << 32) | features[i]) + 1) - logTokens;
+            }
+            scores[slot] = score;
+        }
+        return labelCount;
+    }
+
+    public int slotOf(int label) {
+        for (int slot = 0; slot < labelCount; slot++) {
+            if (labels[slot] == label) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int newSlot(int label) {
+        if (labelCount == labels.length) {
+            labels = Arrays.copyOf(labels, labelCount * 2);
+            docs = Arrays.copyOf(docs, labelCount * 2);
+            tokens = Arrays.copyOf(tokens, labelCount * 2);
+        }
+        labels[labelCount] = label;
+        return labelCount++;
+    }
+
+    private int count(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+            if (keys[i] == EMPTY) {
+                return 0;
+            }
+        }
+    }
+
+    // Keys are never removed; a pair that drops to zero keeps its slot
+    private void increment(long key, int delta) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == key) {
+            counts[i] = Math.max(counts[i] + delta, 0);
+            return;
+        }
+        if (delta < 0) {
+            return;
+        }
+        keys[i] = key;
+        counts[i] = delta;
+        if (++size > keys.length * MAX_LOAD) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                counts[i] = oldCounts[j];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
@@ -0,0 +1,121 @@
+package com.expensemanager.util;
+
+/**
+ * Relative-error quantile sketch over positive long values (DDSketch style). Values are counted in
+ * logarithmic buckets, bucket i covering (gamma^(i-1), gamma^i] with gamma = (1 + a) / (1 - a), so any quantile
+ * is answered within a relative error of a of the true value. Unlike KLL or t-digest sketches the buckets are
+ * plain counters: values can be removed again, two sketches merge by adding counts, and memory only grows with
+ * the log of the value range (about 1200 buckets cover 1 cent to 100 million at a = 1%), not with the count.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+
+    // counts[i] holds bucket (offset + i); empty until the first value arrives
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // Values below 1 are counted as 1
+    public void add(long value) {
+        int index = index(value);
+        ensureCapacity(index, index);
+        counts[index - offset]++;
+        count++;
+    }
+
+    // Removes one occurrence of a value that was added before; returns false if its bucket is empty
+    public boolean remove(long value) {
+        int index = index(value);
+        if (counts.length == 0 || index < offset || index >= offset + counts.length || counts[index - offset] == 0) {
+            return false;
+        }
+        counts[index - offset]--;
+        count--;
+        return true;
+    }
+
+    // Adds every value of the other sketch to this one; both must use the same accuracy
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracies");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+        count += other.count;
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    // Estimate of the q-quantile (0 <= q <= 1) within the relative accuracy, or -1 when the sketch is empty
+    public long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        if (count == 0) {
+            return -1;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return Math.round(value(offset + i));
+            }
+        }
+        return Math.round(value(offset + counts.length - 1));
+    }
+
+    private int index(long value) {
+        return (int) Math.ceil(Math.log(Math.max(value, 1)) / logGamma);
+    }
+
+    // Midpoint (in relative terms) of bucket i, which is within relativeAccuracy of every value in it
+    private double value(int index) {
+        double gamma = Math.exp(logGamma);
+        return 2 * Math.exp(index * logGamma) / (gamma + 1);
+    }
+
+    private void ensureCapacity(int fromIndex, int toIndex) {
+        if (counts.length == 0) {
+            counts = new long[toIndex - fromIndex + 1];
+            offset = fromIndex;
+            return;
+        }
+        int newOffset = Math.min(offset, fromIndex);
+        int newEnd = Math.max(offset + counts.length - 1, toIndex);
+        if (newOffset == offset && newEnd == offset + counts.length - 1) {
+            return;
+        }
+        long[] grown = new long[newEnd - newOffset + 1];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+}
@@ -0,0 +1,43 @@
+package com.expensemanager.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole bucket state is a single
+ * "theoretical arrival time", so acquiring a token is one CAS and no refill bookkeeping is needed.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.nanosPerToken = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = capacity * nanosPerToken;
+        this.theoreticalArrival = new AtomicLong(nowNanos); // Starts full
+    }
+
+    // Returns 0 if a token was taken, otherwise the nanos until one becomes available
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket carries no state, so it can be dropped and recreated on demand without changing behaviour
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,71 @@
+package com.expensemanager.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the n largest values offered, by the given order, in a min-heap of at most n entries: offering is
+ * O(log n) and everything smaller than the current minimum is rejected after one comparison. A removed member
+ * cannot be replaced from the heap alone, so remove reports it and the caller refills from its source of truth.
+ */
+public class TopN<T> {
+
+    private final int capacity;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    public TopN(int capacity, Comparator<? super T> order) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.order = order;
+        this.heap = new PriorityQueue<>(capacity, order);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // Returns true if the value is now held
+    public boolean offer(T value) {
+        if (heap.size() < capacity) {
+            heap.add(value);
+            return true;
+        }
+        if (order.compare(value, heap.peek()) <= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(value);
+        return true;
+    }
+
+    // Returns true if the value was held; the heap then has a free slot that smaller values may deserve
+    public boolean remove(T value) {
+        return heap.remove(value);
+    }
+
+    // Like remove, for callers that identify values by key rather than by equals
+    public boolean removeIf(Predicate<? super T> filter) {
+        return heap.removeIf(filter);
+    }
+
+    public void clear() {
+        heap.clear();
+    }
+
+    // Largest first
+    public List<T> values() {
+        List<T> values = new ArrayList<>(heap);
+        values.sort(order.reversed());
+        return values;
+    }
+}
@@ -0,0 +1,71 @@
+package com.expensemanager.util;
+
+import com.expensemanager.exception.PreconditionFailedException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entity versions exposed as strong ETags ("3"). Clients echo the ETag in If-Match to make a write
+ * conditional on the version they last read. If-Match may list several ETags ("3", "4"); the write goes
+ * ahead when the current version is any of them (RFC 9110 13.1.1).
+ */
+public final class VersionETag {
+
+    private VersionETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The versions the header names; null for a missing header or "*" (no version requirement)
+    public static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        boolean weak = false;
+        int i = 0;
+        while (i < ifMatch.length()) {
+            char c = ifMatch.charAt(i);
+            if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            boolean weakTag = ifMatch.startsWith("W/", i);
+            if (weakTag) {
+                i += 2;
+            }
+            // Quoted tags may contain commas; unquoted versions are accepted too and end at the next comma
+            int end;
+            String tag;
+            if (i < ifMatch.length() && ifMatch.charAt(i) == '"') {
+                end = ifMatch.indexOf('"', i + 1);
+                end = end < 0 ? ifMatch.length() : end;
+                tag = ifMatch.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                end = ifMatch.indexOf(',', i);
+                end = end < 0 ? ifMatch.length() : end;
+                tag = ifMatch.substring(i, end).trim();
+                i = end;
+            }
+            if (weakTag) {
+                // Weak comparison is not allowed for If-Match, so a weak tag never matches
+                weak = true;
+            } else {
+                try {
+                    versions.add(Long.parseLong(tag));
+                } catch (NumberFormatException e) {
+                    // Not one of our ETags, so it cannot match
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException(weak ? "If-Match requires a strong ETag"
+                    : "If-Match does not match any version of this expense: " + ifMatch);
+        }
+        return versions;
+    }
+}
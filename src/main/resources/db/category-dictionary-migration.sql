@@ -0,0 +1,20 @@
+-- One-off migration for databases created before the category dictionary existed.
+-- The default in-memory H2 setup recreates the schema on startup and does not need this.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE
+);
+
+INSERT INTO categories (name)
+SELECT DISTINCT TRIM(category) FROM expenses
+WHERE TRIM(category) NOT IN (SELECT name FROM categories);
+
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS category_id INTEGER;
+
+UPDATE expenses e
+SET category_id = (SELECT c.id FROM categories c WHERE c.name = TRIM(e.category))
+WHERE category_id IS NULL;
+
+ALTER TABLE expenses ALTER COLUMN category_id SET NOT NULL;
+ALTER TABLE expenses DROP COLUMN category;
@@ -0,0 +1,24 @@
+-- One-off migration for databases created before the delta sync change log.
+-- The default in-memory H2 setup recreates the schema on startup and does not need this.
+
+CREATE TABLE IF NOT EXISTS expense_change_counters (
+    user_id BIGINT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    compacted_through BIGINT NOT NULL
+);
+CREATE TABLE IF NOT EXISTS expense_changes (
+    expense_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_expense_changes_user_seq ON expense_changes (user_id, seq, expense_id);
+
+-- Every existing expense becomes change 1 of its owner, so a first sync without a token lists it
+INSERT INTO expense_changes (expense_id, user_id, seq, deleted, changed_at)
+SELECT id, user_id, 1, FALSE, CURRENT_TIMESTAMP FROM expenses
+UNION ALL
+SELECT id, user_id, 1, FALSE, CURRENT_TIMESTAMP FROM expenses_archive;
+INSERT INTO expense_change_counters (user_id, last_seq, compacted_through)
+SELECT id, 1, 0 FROM users;
@@ -0,0 +1,4 @@
+-- One-off migration for databases created before expenses carried an optimistic-lock version.
+-- The default in-memory H2 setup recreates the schema on startup and does not need this.
+
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
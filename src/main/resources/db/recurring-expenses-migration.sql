@@ -0,0 +1,20 @@
+-- One-off migration for databases created before recurring expense templates.
+-- The default in-memory H2 setup recreates the schema on startup and does not need this.
+
+CREATE TABLE IF NOT EXISTS recurring_expenses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    description VARCHAR(255) NOT NULL,
+    amount NUMERIC(10, 2) NOT NULL,
+    category_id INTEGER NOT NULL,
+    schedule VARCHAR(64) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_run_date DATE
+);
+CREATE INDEX IF NOT EXISTS idx_recurring_expenses_next_run ON recurring_expenses (next_run_date, id);
+CREATE INDEX IF NOT EXISTS idx_recurring_expenses_user ON recurring_expenses (user_id);
+
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS recurring_expense_id BIGINT;
+ALTER TABLE expenses ADD CONSTRAINT IF NOT EXISTS uk_expenses_recurring_occurrence UNIQUE (recurring_expense_id, date);
+ALTER TABLE expenses_archive ADD COLUMN IF NOT EXISTS recurring_expense_id BIGINT;
@@ -0,0 +1,217 @@
+package com.expensemanager.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hand-run load benchmark for the expense CRUD endpoints of an already running instance. Each client logs in
+ * as its own user and loops create, get, update, list and delete for the given duration, then throughput and
+ * latency percentiles per operation are printed.
+ *
+ * <p>Compare execution modes by starting the application once per mode with the same load profile, e.g.
+ * <pre>
+ * java -jar target/expense-manager.jar --spring.profiles.active=benchmark
+ * java -Djdk.tracePinnedThreads=short -jar target/expense-manager.jar --spring.profiles.active=benchmark,virtual-threads
+ * </pre>
+ * and then, for each:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.ExpenseCrudLoadBenchmark \
+ *     -Dexec.args="http://localhost:8080 1000 60"
+ * </pre>
+ * Arguments: base URL, concurrent clients, duration in seconds. With tracePinnedThreads enabled, pinned carrier
+ * threads (e.g. inside H2 or Hibernate monitors) are reported with stack traces on the application's stdout.
+ */
+public class ExpenseCrudLoadBenchmark {
+
+    private static final String[] OPERATIONS = {"create", "get", "update", "list", "delete"};
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        // Registration and login hash passwords with BCrypt; keep them out of the measured window
+        List<Future<Client>> setups = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(http, baseUrl, "bench-" + runId + "-" + i);
+            setups.add(pool.submit(() -> client.signIn()));
+        }
+        List<Client> signedIn = new ArrayList<>();
+        for (Future<Client> setup : setups) {
+            signedIn.add(setup.get());
+        }
+
+        List<Future<long[][]>> results = new ArrayList<>();
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofSeconds(seconds).toNanos();
+        for (Client client : signedIn) {
+            results.add(pool.submit(() -> client.run(deadline)));
+        }
+
+        List<List<Long>> latencies = new ArrayList<>();
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            latencies.add(new ArrayList<>());
+        }
+        long errors = 0;
+        for (Future<long[][]> result : results) {
+            long[][] clientLatencies = result.get();
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                for (long latency : clientLatencies[op]) {
+                    if (latency < 0) {
+                        errors++;
+                    } else {
+                        latencies.get(op).add(latency);
+                    }
+                }
+            }
+        }
+        pool.shutdown();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("clients=%d duration=%.1fs errors=%d%n", clients, elapsedSeconds, errors);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "op", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            long[] sorted = latencies.get(op).stream().mapToLong(Long::longValue).sorted().toArray();
+            total += sorted.length;
+            System.out.printf("%-8s %10.1f %10.2f %10.2f %10.2f %10.2f%n", OPERATIONS[op], sorted.length / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+        System.out.printf("total    %10.1f req/s%n", total / elapsedSeconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Client {
+
+        private final HttpClient http;
+        private final String baseUrl;
+        private final String username;
+        private final List<List<Long>> latencies = new ArrayList<>();
+        private String sessionCookie;
+
+        Client(HttpClient http, String baseUrl, String username) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.username = username;
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                latencies.add(new ArrayList<>());
+            }
+        }
+
+        Client signIn() throws Exception {
+            register();
+            login();
+            return this;
+        }
+
+        long[][] run(long deadline) {
+            int iteration = 0;
+            while (System.nanoTime() < deadline) {
+                String body = expenseJson("Benchmark expense " + iteration, 10 + iteration % 90, "Bench");
+                String created = timed(0, json("POST", "/api/expenses", body), 201);
+                Matcher matcher = created == null ? null : ID.matcher(created);
+                if (matcher != null && matcher.find()) {
+                    String path = "/api/expenses/" + matcher.group(1);
+                    timed(1, get(path), 200);
+                    timed(2, json("PUT", path, expenseJson("Updated expense " + iteration, 5, "Bench")), 200);
+                    timed(3, get("/api/expenses"), 200);
+                    timed(4, request(path).DELETE().build(), 204);
+                }
+                iteration++;
+            }
+            long[][] result = new long[OPERATIONS.length][];
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                result[op] = latencies.get(op).stream().mapToLong(Long::longValue).toArray();
+            }
+            return result;
+        }
+
+        private void register() throws Exception {
+            String body = "{\"username\":\"" + username + "\",\"password\":\"benchmark\",\"email\":\""
+                    + username + "@bench.local\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        private void login() throws Exception {
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password=benchmark";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                    .map(cookie -> cookie.split(";", 2)[0])
+                    .filter(cookie -> cookie.startsWith("JSESSIONID=") || cookie.startsWith("SESSION="))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Login failed for " + username));
+        }
+
+        private String timed(int op, HttpRequest request, int expectedStatus) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long latency = System.nanoTime() - start;
+                latencies.get(op).add(response.statusCode() == expectedStatus ? latency : -1L);
+                return response.body();
+            } catch (Exception e) {
+                latencies.get(op).add(-1L);
+                return null;
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Cookie", sessionCookie);
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest json(String method, String path, String body) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private static String expenseJson(String description, int amount, String category) {
+            return "{\"description\":\"" + description + "\",\"amount\":" + amount + ".00,\"date\":\""
+                    + LocalDate.now() + "\",\"category\":\"" + category + "\"}";
+        }
+    }
+}
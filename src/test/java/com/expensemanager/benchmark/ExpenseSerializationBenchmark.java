@@ -0,0 +1,119 @@
+package com.expensemanager.benchmark;
+
+import com.expensemanager.config.BinaryFormatsConfig;
+import com.expensemanager.dto.ExpenseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hand-run benchmark of the response formats for a list of expenses: bytes on the wire with and without gzip
+ * (as applied by server.compression), and server CPU time to serialise, to compress, and for the client to
+ * parse it back. The mappers are configured like the application's converters. Not picked up by surefire.
+ * Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.ExpenseSerializationBenchmark -Dexec.args="10000 200"
+ * </pre>
+ * Arguments: expenses per response, measured iterations. CPU times are per response, for the current thread.
+ */
+public class ExpenseSerializationBenchmark {
+
+    private static final String[] MERCHANTS = {"Tesco", "Uber", "Amazon", "Shell", "Starbucks", "Netflix", "Lidl",
+            "Pret", "Trainline", "Boots", "IKEA", "Spotify"};
+    private static final String[] CATEGORIES = {"Food", "Transport", "Shopping", "Bills", "Entertainment", "Health"};
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        List<ExpenseDto> expenses = generate(size);
+        ObjectMapper json = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper cbor = BinaryFormatsConfig.cbor(new Jackson2ObjectMapperBuilder()).build();
+        ObjectMapper smile = BinaryFormatsConfig.smile(new Jackson2ObjectMapperBuilder()).build();
+
+        System.out.printf("expenses=%d iterations=%d%n", size, iterations);
+        System.out.printf("%-6s %12s %12s %14s %12s %12s%n",
+                "format", "bytes", "gzip bytes", "serialize ms", "gzip ms", "parse ms");
+        run("json", json, expenses, iterations);
+        run("cbor", cbor, expenses, iterations);
+        run("smile", smile, expenses, iterations);
+    }
+
+    private static void run(String name, ObjectMapper mapper, List<ExpenseDto> expenses, int iterations)
+            throws IOException {
+        CollectionType listType = mapper.getTypeFactory().constructCollectionType(List.class, ExpenseDto.class);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // Warm up every path so the measured loop runs compiled code
+        for (int i = 0; i < Math.max(20, iterations / 5); i++) {
+            byte[] body = mapper.writeValueAsBytes(expenses);
+            gzip(body);
+            mapper.readValue(body, listType);
+        }
+
+        long serializeNanos = 0;
+        long gzipNanos = 0;
+        long parseNanos = 0;
+        int bytes = 0;
+        int compressedBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = threads.getCurrentThreadCpuTime();
+            byte[] body = mapper.writeValueAsBytes(expenses);
+            long serialized = threads.getCurrentThreadCpuTime();
+            byte[] compressed = gzip(body);
+            long zipped = threads.getCurrentThreadCpuTime();
+            List<ExpenseDto> parsed = mapper.readValue(body, listType);
+            long end = threads.getCurrentThreadCpuTime();
+
+            if (parsed.size() != expenses.size()) {
+                throw new IllegalStateException(name + " lost expenses");
+            }
+            serializeNanos += serialized - start;
+            gzipNanos += zipped - serialized;
+            parseNanos += end - zipped;
+            bytes = body.length;
+            compressedBytes = compressed.length;
+        }
+        System.out.printf("%-6s %12d %12d %14.2f %12.2f %12.2f%n", name, bytes, compressedBytes,
+                serializeNanos / 1e6 / iterations, gzipNanos / 1e6 / iterations, parseNanos / 1e6 / iterations);
+    }
+
+    // Same stream and default level as Tomcat's compression
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    // Seeded so every run and format sees the same data
+    private static List<ExpenseDto> generate(int size) {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        List<ExpenseDto> expenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+            String description = random.nextBoolean() ? merchant : merchant.toUpperCase() + " " + (1000 + random.nextInt(9000));
+            BigDecimal amount = BigDecimal.valueOf(100 + (long) (Math.exp(random.nextGaussian() + 7) % 500_000), 2);
+            expenses.add(new ExpenseDto(100_000L + i, description, amount, start.plusDays(random.nextInt(365)),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], (long) random.nextInt(5)));
+        }
+        return expenses;
+    }
+}
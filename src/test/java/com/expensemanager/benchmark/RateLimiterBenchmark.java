@@ -0,0 +1,80 @@
+package com.expensemanager.benchmark;
+
+import com.expensemanager.ratelimit.PrincipalRateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hand-run microbenchmark for the per-request cost of the rate limiter (bucket lookup plus one CAS).
+ * Not picked up by surefire. Run from the IDE or with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.RateLimiterBenchmark -Dexec.args="8 10000"
+ * </pre>
+ * Arguments: thread count, number of distinct principals.
+ */
+public class RateLimiterBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURED_ITERATIONS = 10_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int principals = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        // Effectively unlimited so every call takes the common (allowed) path
+        PrincipalRateLimiter limiter = new PrincipalRateLimiter(Long.MAX_VALUE / 1_000_000_000L, 1e9);
+        String[] keys = new String[principals];
+        for (int i = 0; i < principals; i++) {
+            keys[i] = "user:benchmark-" + i;
+        }
+
+        run(limiter, keys, threads, WARMUP_ITERATIONS);
+        long elapsed = run(limiter, keys, threads, MEASURED_ITERATIONS);
+
+        long operations = (long) threads * MEASURED_ITERATIONS;
+        System.out.printf("threads=%d principals=%d ops=%d%n", threads, principals, operations);
+        System.out.printf("%.1f ns/op per thread, %.1f M ops/s aggregate, %d buckets%n",
+                (double) elapsed * threads / operations, operations * 1e3 / elapsed, limiter.size());
+    }
+
+    private static long run(PrincipalRateLimiter limiter, String[] keys, int threads, int iterations)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong rejected = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long localRejected = 0;
+                for (int i = 0; i < iterations; i++) {
+                    if (limiter.tryAcquire(keys[(offset + i) % keys.length]) > 0) {
+                        localRejected++;
+                    }
+                }
+                rejected.addAndGet(localRejected);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (rejected.get() != 0) {
+            throw new IllegalStateException("Unexpected rejections: " + rejected.get());
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,193 @@
+package com.expensemanager.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-run cold-start benchmark. Starts the application as a child process several times and reports, per run,
+ * the time from spawning the JVM until the HTTP port answers, until the first successful
+ * {@code GET /api/users/profile} (which needs a registered and logged-in user, so it covers security, BCrypt
+ * and the JPA path), and the resident set size after a short warmup. Medians over all runs are printed last.
+ *
+ * <p>Compare a plain start with the fast-startup build ({@code mvn -Pfast-startup package}), e.g.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.StartupBenchmark \
+ *     -Dexec.args="http://localhost:8181 5 java -jar target/expense-manager-0.0.1-SNAPSHOT.jar --server.port=8181"
+ *
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.StartupBenchmark \
+ *     -Dexec.args="http://localhost:8181 5 java -XX:SharedArchiveFile=target/fast-startup/application.jsa \
+ *         -Dspring.aot.enabled=true -jar target/fast-startup/expense-manager-0.0.1-SNAPSHOT.jar \
+ *         --spring.profiles.active=fast-startup --server.port=8181"
+ * </pre>
+ * Arguments: base URL, number of runs, then the command that starts the application. The child's output goes
+ * to target/startup-benchmark.log. RSS is read from /proc and is only reported on Linux.
+ */
+public class StartupBenchmark {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_MILLIS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: StartupBenchmark <base-url> <runs> <command...>");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        int runs = Integer.parseInt(args[1]);
+        List<String> command = Arrays.asList(args).subList(2, args.length);
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        File log = Path.of("target", "startup-benchmark.log").toFile();
+        Files.createDirectories(log.toPath().getParent());
+
+        long[] listening = new long[runs];
+        long[] firstProfile = new long[runs];
+        long[] rss = new long[runs];
+        System.out.printf("%-4s %14s %18s %12s%n", "run", "listening ms", "first profile ms", "RSS MiB");
+        for (int run = 0; run < runs; run++) {
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                    .start();
+            try {
+                Session session = new Session(http, baseUrl, "startup-" + Long.toString(System.nanoTime(), 36));
+                session.awaitListening(process, started);
+                listening[run] = System.nanoTime() - started;
+                session.awaitProfile(process, started);
+                firstProfile[run] = System.nanoTime() - started;
+                for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                    session.profile();
+                }
+                rss[run] = residentSetKiB(process.pid());
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+            System.out.printf("%-4d %14.0f %18.0f %12s%n", run + 1, listening[run] / 1e6, firstProfile[run] / 1e6,
+                    rss[run] < 0 ? "n/a" : String.format("%.1f", rss[run] / 1024.0));
+        }
+        System.out.printf("median %12.0f %18.0f %12s%n", median(listening) / 1e6, median(firstProfile) / 1e6,
+                median(rss) < 0 ? "n/a" : String.format("%.1f", median(rss) / 1024.0));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    // VmRSS of the process in KiB, or -1 where /proc is not available
+    private static long residentSetKiB(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private static final class Session {
+
+        private final HttpClient http;
+        private final String baseUrl;
+        private final String username;
+        private String sessionCookie;
+
+        Session(HttpClient http, String baseUrl, String username) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.username = username;
+        }
+
+        // Any HTTP response counts: the port is bound and Tomcat is serving
+        void awaitListening(Process process, long started) throws Exception {
+            poll(process, started, () -> {
+                http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/profile")).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                return true;
+            });
+        }
+
+        void awaitProfile(Process process, long started) throws Exception {
+            poll(process, started, () -> (sessionCookie != null || signIn()) && profile() == 200);
+        }
+
+        int profile() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/profile"))
+                    .header("Cookie", sessionCookie)
+                    .GET()
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private boolean signIn() throws Exception {
+            String body = "{\"username\":\"" + username + "\",\"password\":\"benchmark\",\"email\":\""
+                    + username + "@bench.local\"}";
+            http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password=benchmark";
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                    .map(cookie -> cookie.split(";", 2)[0])
+                    .filter(cookie -> cookie.startsWith("JSESSIONID=") || cookie.startsWith("SESSION="))
+                    .findFirst()
+                    .orElse(null);
+            return sessionCookie != null;
+        }
+
+        private void poll(Process process, long started, Attempt attempt) throws Exception {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + "; see target/startup-benchmark.log");
+                }
+                if (System.nanoTime() - started > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Application did not start within " + START_TIMEOUT);
+                }
+                try {
+                    if (attempt.run()) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // not accepting connections yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+
+    private interface Attempt {
+        boolean run() throws Exception;
+    }
+}
@@ -0,0 +1,377 @@
+package com.expensemanager.benchmark;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Hand-run tool that fills a database with realistic synthetic users and expenses for benchmarks, writing rows
+ * with batched JDBC (or H2 CSVREAD) instead of going through ExpenseService. Output depends only on the
+ * arguments, so two databases generated with the same seed hold the same data.
+ *
+ * <ul>
+ * <li>Expenses per user are log-normal: most users have a few dozen, a long tail has thousands.</li>
+ * <li>Categories follow a Zipf distribution (groceries and dining dominate, rent is rare), and amounts are
+ * log-normal around a per-category median, with charm prices (x.99) in retail categories.</li>
+ * <li>Dates are seasonal: a December peak, a summer bump, busier weekends, and rent and bills early in the month.</li>
+ * </ul>
+ *
+ * The derived tables the application keeps in step with expense writes (category_month_totals, the change
+ * log) are filled too. Each user's expenses are written together, so they are clustered by id.
+ *
+ * <p>The schema must exist. Create it by starting the application once with the bench-data profile and
+ * stopping it, then generate and start it again:
+ * <pre>
+ * java -jar target/expense-manager-0.0.1-SNAPSHOT.jar --spring.profiles.active=bench-data   (then stop it)
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.expensemanager.benchmark.SyntheticDataGenerator \
+ *     -Dexec.args="jdbc:h2:file:./target/bench-data/expenses 100000 5000000 42 csv"
+ * java -jar target/expense-manager-0.0.1-SNAPSHOT.jar --spring.profiles.active=bench-data,benchmark
+ * </pre>
+ * Arguments: JDBC URL, users, expenses (approximate total), seed, load mode ("jdbc" batches, works anywhere;
+ * "csv" writes one CSV file and loads it with H2's CSVREAD, the faster option on H2), last expense date
+ * (default 2024-12-31). Dates span the 24 months up to it. The bench-data profile turns the nightly archiver
+ * off, so the fixed default keeps runs comparable and the rows stay in the hot table. Every generated user's
+ * password is "benchmark".
+ */
+public class SyntheticDataGenerator {
+
+    private static final int MONTHS = 24;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int COMMIT_EVERY = 50_000;
+    private static final double ZIPF_EXPONENT = 1.1;
+    // sigma of the per-user log-normal weight; 1.2 puts about a third of all expenses on the top 5% of users
+    private static final double USER_SKEW = 1.2;
+    private static final double MAX_SEASONAL_WEIGHT = 1.0 + 0.6 + 0.2 + 0.3;
+
+    private static final String INSERT_USER = "insert into users (id, username, password, email) values (?, ?, ?, ?)";
+    private static final String INSERT_EXPENSE = "insert into expenses (description, amount, date, category_id, user_id, version) " +
+            "values (?, ?, ?, ?, ?, 0)";
+    private static final String LOAD_EXPENSES_CSV = "insert into expenses (description, amount, date, category_id, user_id, version) " +
+            "select * from csvread(?, 'DESCRIPTION,AMOUNT,DATE,CATEGORY_ID,USER_ID,VERSION', 'charset=UTF-8')";
+    private static final String INSERT_TOTAL = "insert into category_month_totals (user_id, category_id, month_start, total) " +
+            "values (?, ?, ?, ?)";
+    private static final String INSERT_COUNTER = "insert into expense_change_counters (user_id, last_seq, compacted_through) " +
+            "values (?, 1, 0)";
+    private static final String INSERT_CHANGES = "insert into expense_changes (expense_id, user_id, seq, deleted, changed_at) " +
+            "select id, user_id, 1, false, current_timestamp from expenses where user_id between ? and ?";
+
+    // In Zipf rank order: name, median amount, log-normal sigma, charm pricing, merchants
+    private static final CategoryModel[] CATEGORIES = {
+            new CategoryModel("Groceries", 35, 0.6, true, "Tesco", "Sainsbury's", "Lidl", "Aldi", "Waitrose", "Co-op"),
+            new CategoryModel("Dining", 22, 0.5, false, "Nando's", "Pizza Express", "Wagamama", "Local Thai", "Burger Bar"),
+            new CategoryModel("Coffee", 4.2, 0.3, false, "Starbucks", "Pret", "Costa", "Caffe Nero"),
+            new CategoryModel("Transport", 12, 0.7, false, "Uber", "TfL", "Trainline", "National Express"),
+            new CategoryModel("Shopping", 40, 0.9, true, "Amazon", "Argos", "John Lewis", "eBay", "Zara"),
+            new CategoryModel("Bills", 85, 0.4, false, "British Gas", "Thames Water", "EE Mobile", "Council Tax"),
+            new CategoryModel("Entertainment", 25, 0.6, true, "Odeon", "Steam", "Ticketmaster", "Vue Cinema"),
+            new CategoryModel("Subscriptions", 11, 0.4, true, "Netflix", "Spotify", "Disney Plus", "iCloud"),
+            new CategoryModel("Fuel", 55, 0.3, false, "Shell", "BP", "Esso", "Texaco"),
+            new CategoryModel("Health", 30, 0.8, true, "Boots", "Superdrug", "Bupa", "Specsavers"),
+            new CategoryModel("Home", 60, 1.0, true, "IKEA", "B&Q", "Dunelm", "Screwfix"),
+            new CategoryModel("Gifts", 45, 0.7, true, "Etsy", "Moonpig", "Not On The High Street"),
+            new CategoryModel("Travel", 300, 0.9, false, "Booking.com", "easyJet", "Ryanair", "Airbnb"),
+            new CategoryModel("Pets", 28, 0.6, true, "Pets at Home", "Vets4Pets", "Zooplus"),
+            new CategoryModel("Fitness", 35, 0.4, false, "PureGym", "Decathlon", "Sweaty Betty"),
+            new CategoryModel("Education", 80, 0.8, false, "Udemy", "Waterstones", "Coursera"),
+            new CategoryModel("Kids", 30, 0.7, true, "Smyths", "Mothercare", "Clarks"),
+            new CategoryModel("Insurance", 90, 0.3, false, "Aviva", "Direct Line", "Admiral"),
+            new CategoryModel("Charity", 20, 0.6, false, "Oxfam", "Red Cross", "Shelter"),
+            new CategoryModel("Rent", 1200, 0.2, false, "Landlord", "Letting Agent")
+    };
+    private static final double[] CATEGORY_CDF = zipfCdf(CATEGORIES.length, ZIPF_EXPONENT);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: SyntheticDataGenerator <jdbc-url> <users> <expenses> [seed] [jdbc|csv] [last-date]");
+            System.exit(2);
+        }
+        String url = args[0];
+        int users = Integer.parseInt(args[1]);
+        long expenses = Long.parseLong(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        boolean csv = args.length > 4 && args[4].equalsIgnoreCase("csv");
+        LocalDate end = args.length > 5 ? LocalDate.parse(args[5]) : LocalDate.of(2024, 12, 31);
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            connection.setAutoCommit(false);
+            new SyntheticDataGenerator(connection, seed, end).generate(users, expenses, csv);
+        }
+    }
+
+    private final Connection connection;
+    private final long seed;
+    private final LocalDate end;
+    private final LocalDate firstMonth;
+    private final int days;
+
+    private SyntheticDataGenerator(Connection connection, long seed, LocalDate end) {
+        this.connection = connection;
+        this.seed = seed;
+        this.end = end;
+        this.firstMonth = end.withDayOfMonth(1).minusMonths(MONTHS - 1);
+        this.days = (int) ChronoUnit.DAYS.between(firstMonth, end) + 1;
+    }
+
+    private void generate(int users, long expenses, boolean csv) throws SQLException, IOException {
+        if (count("select count(*) from users where username like 'synth-%'") > 0) {
+            throw new IllegalStateException("Database already holds synthetic users; generate into a fresh one");
+        }
+        long started = System.nanoTime();
+        int[] categoryIds = resolveCategories();
+        long firstUserId = count("select coalesce(max(id), 0) + 1 from users");
+        int[] counts = expensesPerUser(users, expenses);
+        // One hash for everyone: BCrypt is deliberately slow and would dominate the load
+        String password = new BCryptPasswordEncoder().encode("benchmark");
+
+        Path csvFile = csv ? Files.createTempFile("synthetic-expenses", ".csv") : null;
+        long written = 0;
+        try (PreparedStatement insertUser = connection.prepareStatement(INSERT_USER);
+             PreparedStatement insertExpense = connection.prepareStatement(INSERT_EXPENSE);
+             PreparedStatement insertTotal = connection.prepareStatement(INSERT_TOTAL);
+             PreparedStatement insertCounter = connection.prepareStatement(INSERT_COUNTER);
+             BufferedWriter csvWriter = csv ? Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8) : null) {
+            Batches batches = new Batches();
+            long[] monthTotals = new long[MONTHS * CATEGORIES.length];
+            for (int user = 0; user < users; user++) {
+                long userId = firstUserId + user;
+                insertUser.setLong(1, userId);
+                insertUser.setString(2, "synth-" + user);
+                insertUser.setString(3, password);
+                insertUser.setString(4, "synth-" + user + "@bench.local");
+                batches.add(insertUser);
+                insertCounter.setLong(1, userId);
+                batches.add(insertCounter);
+
+                // Seeded per user, so a user's expenses do not depend on how many users come before it
+                SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + user);
+                Arrays.fill(monthTotals, 0);
+                for (int i = 0; i < counts[user]; i++) {
+                    int category = sampleCategory(random);
+                    CategoryModel model = CATEGORIES[category];
+                    LocalDate date = sampleDate(random, model);
+                    long cents = sampleCents(random, model);
+                    String description = describe(random, model);
+                    monthTotals[monthIndex(date) * CATEGORIES.length + category] += cents;
+                    if (csvWriter != null) {
+                        csvWriter.write('"' + description.replace("\"", "\"\"") + "\"," + BigDecimal.valueOf(cents, 2) + ','
+                                + date + ',' + categoryIds[category] + ',' + userId + ",0\n");
+                    } else {
+                        insertExpense.setString(1, description);
+                        insertExpense.setBigDecimal(2, BigDecimal.valueOf(cents, 2));
+                        insertExpense.setDate(3, Date.valueOf(date));
+                        insertExpense.setInt(4, categoryIds[category]);
+                        insertExpense.setLong(5, userId);
+                        batches.add(insertExpense);
+                    }
+                }
+                written += counts[user];
+
+                for (int slot = 0; slot < monthTotals.length; slot++) {
+                    if (monthTotals[slot] != 0) {
+                        insertTotal.setLong(1, userId);
+                        insertTotal.setInt(2, categoryIds[slot % CATEGORIES.length]);
+                        insertTotal.setDate(3, Date.valueOf(firstMonth.plusMonths(slot / CATEGORIES.length)));
+                        insertTotal.setBigDecimal(4, BigDecimal.valueOf(monthTotals[slot], 2));
+                        batches.add(insertTotal);
+                    }
+                }
+                if ((user + 1) % 10_000 == 0) {
+                    System.out.printf("%d users, %d expenses generated%n", user + 1, written);
+                }
+            }
+            batches.flush();
+        }
+
+        if (csvFile != null) {
+            try (PreparedStatement load = connection.prepareStatement(LOAD_EXPENSES_CSV)) {
+                load.setString(1, csvFile.toAbsolutePath().toString());
+                load.executeUpdate();
+            } finally {
+                Files.deleteIfExists(csvFile);
+            }
+        }
+        try (PreparedStatement changes = connection.prepareStatement(INSERT_CHANGES)) {
+            changes.setLong(1, firstUserId);
+            changes.setLong(2, firstUserId + users - 1);
+            changes.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Users were inserted with explicit ids; move the identity past them
+            statement.execute("alter table users alter column id restart with " + (firstUserId + users));
+        }
+        connection.commit();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("users=%d expenses=%d seed=%d mode=%s in %.1fs (%.0f expenses/min)%n",
+                users, written, seed, csv ? "csv" : "jdbc", seconds, written / seconds * 60);
+    }
+
+    // Dictionary ids for the category names, creating the missing ones
+    private int[] resolveCategories() throws SQLException {
+        Map<String, Integer> existing = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select id, name from categories")) {
+            while (rows.next()) {
+                existing.put(rows.getString(2), rows.getInt(1));
+            }
+        }
+        int[] ids = new int[CATEGORIES.length];
+        try (PreparedStatement insert = connection.prepareStatement("insert into categories (name) values (?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                Integer id = existing.get(CATEGORIES[i].name());
+                if (id == null) {
+                    insert.setString(1, CATEGORIES[i].name());
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                        id = keys.getInt(1);
+                    }
+                }
+                ids[i] = id;
+            }
+        }
+        return ids;
+    }
+
+    // Log-normal weights scaled to the requested total; every user gets at least one expense
+    private int[] expensesPerUser(int users, long total) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = Math.exp(USER_SKEW * random.nextGaussian());
+            sum += weights[i];
+        }
+        int[] counts = new int[users];
+        for (int i = 0; i < users; i++) {
+            counts[i] = (int) Math.max(1, Math.round(total * weights[i] / sum));
+        }
+        return counts;
+    }
+
+    private static int sampleCategory(SplittableRandom random) {
+        int index = Arrays.binarySearch(CATEGORY_CDF, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, CATEGORIES.length - 1);
+    }
+
+    // Rejection sampling against the seasonal weight; rent and bills land in the first days of the month
+    private LocalDate sampleDate(SplittableRandom random, CategoryModel model) {
+        if (model.name().equals("Rent") || model.name().equals("Bills")) {
+            LocalDate month = firstMonth.plusMonths(random.nextInt(MONTHS));
+            LocalDate date = month.plusDays(random.nextInt(5));
+            return date.isAfter(end) ? end : date;
+        }
+        while (true) {
+            LocalDate date = firstMonth.plusDays(random.nextInt(days));
+            if (random.nextDouble() * MAX_SEASONAL_WEIGHT < seasonalWeight(date)) {
+                return date;
+            }
+        }
+    }
+
+    private static double seasonalWeight(LocalDate date) {
+        int day = date.getDayOfYear();
+        double december = 0.6 * Math.exp(-Math.pow((day - 352) / 10.0, 2));
+        double summer = 0.2 * Math.exp(-Math.pow((day - 205) / 25.0, 2));
+        boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+        return 1.0 + december + summer + (weekend ? 0.3 : 0);
+    }
+
+    // Log-normal around the category median, at least 0.50; retail prices often end in .99
+    private static long sampleCents(SplittableRandom random, CategoryModel model) {
+        double amount = model.median() * Math.exp(model.sigma() * random.nextGaussian());
+        long cents = Math.max(50, Math.min(Math.round(amount * 100), 99_999_999L));
+        if (model.charmPricing() && random.nextInt(10) < 3) {
+            cents = Math.max(99, cents / 100 * 100 - 1);
+        }
+        return cents;
+    }
+
+    // Either the merchant name as typed by hand, or the way it shows up on a bank statement
+    private static String describe(SplittableRandom random, CategoryModel model) {
+        String merchant = model.merchants()[random.nextInt(model.merchants().length)];
+        return random.nextInt(3) == 0 ? merchant : merchant.toUpperCase() + " " + (1000 + random.nextInt(9000));
+    }
+
+    private int monthIndex(LocalDate date) {
+        return (int) ChronoUnit.MONTHS.between(firstMonth, date.withDayOfMonth(1));
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    // Batches rows per statement. A full batch executes all of them in the order they were first used, so users
+    // are always written before the expenses that reference them; commits every COMMIT_EVERY rows.
+    private final class Batches {
+
+        private final Map<PreparedStatement, Integer> pending = new LinkedHashMap<>();
+        private int sinceCommit;
+
+        void add(PreparedStatement statement) throws SQLException {
+            statement.addBatch();
+            if (pending.merge(statement, 1, Integer::sum) >= BATCH_SIZE) {
+                execute();
+            }
+            if (++sinceCommit >= COMMIT_EVERY) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            execute();
+            connection.commit();
+            sinceCommit = 0;
+        }
+
+        private void execute() throws SQLException {
+            for (Map.Entry<PreparedStatement, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() > 0) {
+                    entry.getKey().executeBatch();
+                    entry.setValue(0);
+                }
+            }
+        }
+    }
+
+    private record CategoryModel(String name, double median, double sigma, boolean charmPricing, String... merchants) {
+    }
+}
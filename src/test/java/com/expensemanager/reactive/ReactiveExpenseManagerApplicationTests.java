@@ -0,0 +1,86 @@
+package com.expensemanager.reactive;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.UserRegistrationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockUser;
+
+@SpringBootTest(classes = ReactiveExpenseManagerApplication.class)
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveExpenseManagerApplicationTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void expenseLifecycle() {
+		webTestClient.post().uri("/api/auth/register")
+				.bodyValue(new UserRegistrationDto("reactiveuser", "password123", "reactive@example.com"))
+				.exchange()
+				.expectStatus().isCreated();
+
+		WebTestClient client = webTestClient.mutateWith(mockUser("reactiveuser"));
+		ExpenseDto created = client.post().uri("/api/expenses")
+				.bodyValue(new CreateExpenseDto("Groceries", new BigDecimal("42.10"), LocalDate.now(), "Food"))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(ExpenseDto.class)
+				.returnResult().getResponseBody();
+		assertNotNull(created);
+		assertEquals("Food", created.getCategory());
+
+		client.get().uri("/api/expenses/export")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(ExpenseDto.class).hasSize(1);
+
+		client.put().uri("/api/expenses/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+				.bodyValue(new CreateExpenseDto("Groceries", new BigDecimal("40.00"), LocalDate.now(), "Household"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (created.getVersion() + 1) + "\"")
+				.expectBody().jsonPath("$.category").isEqualTo("Household");
+
+		// Same If-Match again: the version has moved on, so the second write is rejected
+		client.put().uri("/api/expenses/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+				.bodyValue(new CreateExpenseDto("Groceries", new BigDecimal("1.00"), LocalDate.now(), "Household"))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+		client.delete().uri("/api/expenses/{id}", created.getId())
+				.exchange()
+				.expectStatus().isNoContent();
+
+		client.get().uri("/api/expenses/{id}", created.getId())
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void validationErrorsUseSharedRules() {
+		webTestClient.mutateWith(mockUser("reactiveuser"))
+				.post().uri("/api/expenses")
+				.bodyValue(new CreateExpenseDto("", new BigDecimal("-1"), null, "Food"))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.validationErrors.amount").isEqualTo("Amount must be positive");
+	}
+}
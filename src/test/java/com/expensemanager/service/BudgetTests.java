@@ -0,0 +1,173 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BudgetAlertDto;
+import com.expensemanager.dto.BudgetDto;
+import com.expensemanager.dto.BulkUpdateExpensesDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.dto.SetBudgetDto;
+import com.expensemanager.entity.Budget;
+import com.expensemanager.entity.BudgetAlert;
+import com.expensemanager.entity.User;
+import com.expensemanager.repository.BudgetAlertRepository;
+import com.expensemanager.repository.BudgetRepository;
+import com.expensemanager.repository.CategoryMonthTotalRepository;
+import com.expensemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BudgetTests {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetAlertDispatcher budgetAlertDispatcher;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryMonthTotalRepository totalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExpenseDto spend(String username, String amount, String category) {
+        return fixtures.createExpense(username, "Groceries", amount, LocalDate.now(), category);
+    }
+
+    private BigDecimal spent(String username, String category) {
+        return budgetService.getBudgets(username).stream()
+                .filter(budget -> budget.getCategory().equals(category))
+                .map(BudgetDto::getSpent)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<Integer> alertThresholds(String username) {
+        return budgetService.getRecentAlerts(username).stream().map(BudgetAlertDto::getThresholdPercent).toList();
+    }
+
+    @Test
+    void crossingThresholdsRecordsOneAlertEach() {
+        fixtures.register("budget-user");
+        budgetService.setBudget("budget-user", "Food", new SetBudgetDto(new BigDecimal("100.00")));
+
+        spend("budget-user", "50.00", "Food");
+        spend("budget-user", "20.00", "Food");
+        assertTrue(alertThresholds("budget-user").isEmpty());
+
+        ExpenseDto crossing = spend("budget-user", "15.00", "Food");
+        assertEquals(List.of(80), alertThresholds("budget-user"));
+
+        // Moving spend away and back re-crosses 80%; going over 100% alerts once more
+        expenseService.deleteExpense(crossing.getId(), "budget-user");
+        spend("budget-user", "40.00", "Food");
+        assertEquals(List.of(100, 80, 80), alertThresholds("budget-user"));
+        assertEquals(0, new BigDecimal("110.00").compareTo(spent("budget-user", "Food")));
+
+        // Spend in another category never counts against this budget
+        spend("budget-user", "500.00", "Rent");
+        assertEquals(3, alertThresholds("budget-user").size());
+    }
+
+    @Test
+    void rolledBackWritesLeaveTotalsAndAlertsUntouched() {
+        fixtures.register("budget-rollback");
+        budgetService.setBudget("budget-rollback", "Food", new SetBudgetDto(new BigDecimal("100.00")));
+        spend("budget-rollback", "10.00", "Food");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            spend("budget-rollback", "95.00", "Food");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, new BigDecimal("10.00").compareTo(spent("budget-rollback", "Food")));
+        assertTrue(alertThresholds("budget-rollback").isEmpty());
+    }
+
+    @Test
+    void countsBudgetsAndSpendWrittenByOtherInstances() {
+        fixtures.register("budget-shared");
+        spend("budget-shared", "10.00", "Food");
+
+        // Another instance sets the budget and records spend; nothing of it passes through this BudgetService
+        User user = userRepository.findByUsername("budget-shared").orElseThrow();
+        Integer food = categoryService.resolveId("Food");
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            budgetRepository.save(new Budget(null, user, food, new BigDecimal("100.00")));
+            totalRepository.addToTotal(user.getId(), food, month, new BigDecimal("60.00"));
+        });
+
+        spend("budget-shared", "15.00", "Food");
+        assertEquals(0, new BigDecimal("85.00").compareTo(spent("budget-shared", "Food")));
+        assertEquals(List.of(80), alertThresholds("budget-shared"));
+    }
+
+    @Test
+    void bulkChangesRebuildTotals() {
+        fixtures.register("budget-bulk");
+        budgetService.setBudget("budget-bulk", "Transport", new SetBudgetDto(new BigDecimal("100.00")));
+        budgetService.setBudget("budget-bulk", "Travel", new SetBudgetDto(new BigDecimal("100.00")));
+        spend("budget-bulk", "30.00", "Transport");
+        spend("budget-bulk", "20.00", "Transport");
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        ExpenseFilterDto thisMonth = new ExpenseFilterDto(month, month.plusMonths(1).minusDays(1), List.of("Transport"), null);
+        assertEquals(2, expenseService.bulkUpdateCategory(new BulkUpdateExpensesDto(thisMonth, "Travel"), "budget-bulk"));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(spent("budget-bulk", "Transport")));
+        assertEquals(0, new BigDecimal("50.00").compareTo(spent("budget-bulk", "Travel")));
+
+        // Incremental updates continue from the rebuilt totals
+        spend("budget-bulk", "35.00", "Travel");
+        assertEquals(0, new BigDecimal("85.00").compareTo(spent("budget-bulk", "Travel")));
+        assertEquals(List.of(80), alertThresholds("budget-bulk"));
+    }
+
+    @Test
+    void dispatcherMarksSentAlertsDispatched() {
+        fixtures.register("budget-dispatch");
+        budgetService.setBudget("budget-dispatch", "Food", new SetBudgetDto(new BigDecimal("10.00")));
+        spend("budget-dispatch", "12.00", "Food");
+
+        budgetAlertDispatcher.dispatchPendingAlerts();
+
+        Long userId = userService.findByUsername("budget-dispatch").getId();
+        List<BudgetAlert> alerts = budgetAlertRepository.findByUserIdOrderByIdDesc(userId, PageRequest.of(0, 10));
+        assertEquals(2, alerts.size());
+        assertTrue(alerts.stream().allMatch(alert -> alert.getDispatchedAt() != null));
+        assertEquals(0, budgetAlertDispatcher.dispatchPendingAlerts());
+    }
+}
@@ -0,0 +1,130 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CategorySuggestionDto;
+import com.expensemanager.dto.DuplicatePolicy;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ImportExpenseDto;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.entity.User;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CategoryClassifierTests {
+
+    private static final LocalDate DAY = LocalDate.of(2022, 6, 1);
+
+    @Autowired
+    private CategoryClassifier categoryClassifier;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ExpenseChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private void label(String username, String description, String amount, String category) {
+        fixtures.createExpense(username, description, amount, DAY, category);
+    }
+
+    private String top(String username, String description, String amount) {
+        List<CategorySuggestionDto> suggestions = categoryClassifier.suggest(username, description, new BigDecimal(amount), 3);
+        assertFalse(suggestions.isEmpty());
+        return suggestions.get(0).getCategory();
+    }
+
+    @Test
+    void learnsFromLabelledExpensesAndFollowsRelabelling() {
+        fixtures.register("classifier-user");
+        for (int i = 0; i < 5; i++) {
+            label("classifier-user", "Uber ride home", "14.50", "ClassifierTransport");
+            label("classifier-user", "Uber to airport", "38.00", "ClassifierTransport");
+            label("classifier-user", "Lidl weekly shop", "64.20", "ClassifierFood");
+            label("classifier-user", "Lidl groceries", "23.10", "ClassifierFood");
+        }
+
+        assertEquals("ClassifierTransport", top("classifier-user", "UBER *TRIP", "21.00"));
+        assertEquals("ClassifierFood", top("classifier-user", "LIDL 1234", "40.00"));
+
+        List<CategorySuggestionDto> suggestions = categoryClassifier.suggest("classifier-user", "Uber", new BigDecimal("20.00"), 3);
+        double total = suggestions.stream().mapToDouble(CategorySuggestionDto::getProbability).sum();
+        assertTrue(total <= 1.0 + 1e-9);
+
+        // Later writes train the loaded models incrementally
+        for (int i = 0; i < 15; i++) {
+            label("classifier-user", "Uber Eats order", "19.99", "ClassifierFood");
+        }
+        assertEquals("ClassifierFood", top("classifier-user", "Uber Eats", "19.99"));
+    }
+
+    @Test
+    void importFillsInMissingCategories() {
+        fixtures.register("classifier-import");
+        for (int i = 0; i < 5; i++) {
+            label("classifier-import", "Netflix subscription", "12.99", "ClassifierStreaming");
+            label("classifier-import", "Netflix monthly", "12.99", "ClassifierStreaming");
+            label("classifier-import", "Shell fuel station", "55.00", "ClassifierCar");
+            label("classifier-import", "Shell petrol", "48.00", "ClassifierCar");
+        }
+
+        expenseService.importExpenses(List.of(
+                new ImportExpenseDto("NETFLIX.COM", new BigDecimal("12.99"), DAY.plusDays(30), null),
+                new ImportExpenseDto("SHELL 0099 FUEL", new BigDecimal("61.00"), DAY.plusDays(31), " "),
+                new ImportExpenseDto("Cinema", new BigDecimal("9.00"), DAY.plusDays(32), "ClassifierFun")),
+                "classifier-import", DuplicatePolicy.ALLOW);
+
+        List<String> categories = expenseService.getExpensesByUsername("classifier-import", DAY.plusDays(30), null).stream()
+                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
+                .map(ExpenseDto::getCategory)
+                .toList();
+        assertEquals(List.of("ClassifierStreaming", "ClassifierCar", "ClassifierFun"), categories);
+    }
+
+    @Test
+    void writesMadeOnAnotherInstanceAreLearnedOnTheNextRead() {
+        fixtures.register("classifier-shared");
+        for (int i = 0; i < 5; i++) {
+            label("classifier-shared", "Aldi groceries", "31.00", "ClassifierFood");
+        }
+        assertEquals("ClassifierFood", top("classifier-shared", "ALDI", "31.00"));
+
+        // Another instance writes the rows and their change-log entries; no event reaches this classifier
+        User user = userRepository.findByUsername("classifier-shared").orElseThrow();
+        Integer climbing = categoryService.resolveId("ClassifierClimbing");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                Expense expense = expenseRepository.save(new Expense(null, "Boulder gym pass", new BigDecimal("12.00"),
+                        DAY, climbing, user, null, null));
+                changeLog.record(user.getId(), expense.getId(), false);
+            }
+        });
+
+        assertEquals("ClassifierClimbing", top("classifier-shared", "BOULDER GYM", "12.00"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensemanager.service;
+
+import com.expensemanager.entity.Category;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryService(categoryRepository, transactionManager);
+    }
+
+    @Test
+    void loadDictionary_servesLookupsFromMemory() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "Food"), new Category(2, "Travel")));
+
+        categoryService.loadDictionary();
+
+        assertEquals(1, categoryService.resolveId("Food"));
+        assertEquals(2, categoryService.resolveId(" Travel "));
+        assertEquals("Travel", categoryService.getName(2));
+        verify(categoryRepository, never()).findByName(any());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void resolveId_createsCategoryOnce() {
+        when(categoryRepository.findByName("Rent")).thenReturn(Optional.empty());
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(new Category(7, "Rent"));
+
+        assertEquals(7, categoryService.resolveId("Rent"));
+        assertEquals(7, categoryService.resolveId("Rent"));
+        assertEquals("Rent", categoryService.getName(7));
+        verify(categoryRepository, times(1)).saveAndFlush(any(Category.class));
+    }
+
+    @Test
+    void findId_unknownCategory() {
+        assertNull(categoryService.findId("Unknown"));
+    }
+
+    @Test
+    void getName_unknownId() {
+        when(categoryRepository.findById(99)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> categoryService.getName(99));
+        assertEquals("Category not found with id: 99", exception.getMessage());
+    }
+}
@@ -0,0 +1,161 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.DuplicateDto;
+import com.expensemanager.dto.DuplicatePolicy;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ImportExpenseDto;
+import com.expensemanager.dto.ImportResultDto;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.entity.User;
+import com.expensemanager.exception.DuplicateExpenseException;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DuplicateDetectionTests {
+
+    private static final LocalDate DAY = LocalDate.of(2022, 3, 14);
+
+    @Autowired
+    private DuplicateDetector duplicateDetector;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ExpenseChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static CreateExpenseDto row(String description, String amount, LocalDate date) {
+        return new CreateExpenseDto(description, new BigDecimal(amount), date, "Food");
+    }
+
+    private static ImportExpenseDto importRow(String description, String amount, LocalDate date) {
+        return new ImportExpenseDto(description, new BigDecimal(amount), date, "Food");
+    }
+
+    @Test
+    void matchesSameAmountNearbyDateAndSimilarDescription() {
+        fixtures.register("dup-user");
+        ExpenseDto manual = expenseService.createExpense(row("Tesco groceries", "42.10", DAY), "dup-user");
+
+        DuplicateDto duplicate = duplicateDetector.findDuplicate("dup-user", new BigDecimal("42.10"), DAY.plusDays(1),
+                "TESCO STORES 2231 GROCERIES");
+        assertNotNull(duplicate);
+        assertEquals(manual.getId(), duplicate.getDuplicateOfId());
+
+        // Different amount, date too far away, or unrelated description
+        assertNull(duplicateDetector.findDuplicate("dup-user", new BigDecimal("42.11"), DAY, "Tesco groceries"));
+        assertNull(duplicateDetector.findDuplicate("dup-user", new BigDecimal("42.10"), DAY.plusDays(10), "Tesco groceries"));
+        assertNull(duplicateDetector.findDuplicate("dup-user", new BigDecimal("42.10"), DAY, "Cinema tickets"));
+
+        // The index follows committed deletes
+        expenseService.deleteExpense(manual.getId(), "dup-user");
+        assertNull(duplicateDetector.findDuplicate("dup-user", new BigDecimal("42.10"), DAY, "Tesco groceries"));
+    }
+
+    @Test
+    void importFlagsOrRejectsDuplicatesIncludingRowsOfTheSameBatch() {
+        fixtures.register("dup-import");
+        ExpenseDto existing = expenseService.createExpense(row("Shell fuel", "60.00", DAY), "dup-import");
+        List<ImportExpenseDto> rows = List.of(
+                importRow("SHELL 0042 FUEL", "60.00", DAY),
+                importRow("Bakery", "3.20", DAY),
+                importRow("BAKERY", "3.20", DAY.plusDays(2)));
+
+        ImportResultDto rejected = expenseService.importExpenses(rows, "dup-import", DuplicatePolicy.REJECT);
+        assertEquals(1, rejected.getCreated());
+        assertEquals(List.of(0, 2), rejected.getDuplicates().stream().map(DuplicateDto::getRow).toList());
+        assertEquals(existing.getId(), rejected.getDuplicates().get(0).getDuplicateOfId());
+        assertNull(rejected.getDuplicates().get(0).getExpenseId());
+
+        ImportResultDto flagged = expenseService.importExpenses(rows, "dup-import", DuplicatePolicy.FLAG);
+        assertEquals(3, flagged.getCreated());
+        assertEquals(3, flagged.getDuplicates().size());
+        assertTrue(flagged.getDuplicates().stream().allMatch(duplicate -> duplicate.getExpenseId() != null));
+
+        // Stored: the original fuel row and bakery row, then all three flagged rows, each matching an earlier one
+        List<DuplicateDto> report = duplicateDetector.findDuplicates("dup-import");
+        assertEquals(3, report.size());
+    }
+
+    @Test
+    void concurrentCreatesAreCheckedOneAfterTheOther() throws Exception {
+        fixtures.register("dup-race");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<ExpenseDto> create = () -> expenseService.createExpense(row("Gym membership", "35.00", DAY),
+                    "dup-race", DuplicatePolicy.REJECT).expense();
+            List<Future<ExpenseDto>> results = executor.invokeAll(List.of(create, create));
+            int rejected = 0;
+            for (Future<ExpenseDto> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(DuplicateExpenseException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertEquals(1, rejected);
+        } finally {
+            executor.shutdown();
+        }
+
+        // FLAG still creates the expense and names the one it matches
+        ExpenseService.CreatedExpense flagged = expenseService.createExpense(row("GYM MEMBERSHIP", "35.00", DAY),
+                "dup-race", DuplicatePolicy.FLAG);
+        assertNotNull(flagged.duplicate());
+        assertEquals(flagged.expense().getId(), flagged.duplicate().getExpenseId());
+    }
+
+    @Test
+    void expensesWrittenOnAnotherInstanceAreMatched() {
+        fixtures.register("dup-shared");
+        expenseService.createExpense(row("Coffee", "3.50", DAY), "dup-shared");
+        assertNull(duplicateDetector.findDuplicate("dup-shared", new BigDecimal("7.99"), DAY, "Pharmacy"));
+
+        // Another instance writes the row and its change-log entry; no event reaches this DuplicateDetector
+        User user = userRepository.findByUsername("dup-shared").orElseThrow();
+        Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            Expense expense = expenseRepository.save(new Expense(null, "Boots pharmacy", new BigDecimal("7.99"), DAY,
+                    categoryService.resolveId("Health"), user, null, null));
+            changeLog.record(user.getId(), expense.getId(), false);
+            return expense.getId();
+        });
+
+        DuplicateDto duplicate = duplicateDetector.findDuplicate("dup-shared", new BigDecimal("7.99"), DAY, "BOOTS PHARMACY 12");
+        assertNotNull(duplicate);
+        assertEquals(id, duplicate.getDuplicateOfId());
+    }
+}
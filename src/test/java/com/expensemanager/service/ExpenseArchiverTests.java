@@ -0,0 +1,105 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.repository.ArchivedExpenseRepository;
+import com.expensemanager.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExpenseArchiverTests {
+
+    private static final String USERNAME = "archive-user";
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseArchiver expenseArchiver;
+
+    @Autowired
+    private ScheduledJobLocks jobLocks;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
+    @BeforeEach
+    void registerUser() {
+        fixtures.register(USERNAME);
+    }
+
+    private ExpenseDto create(String description, String amount, LocalDate date, String category) {
+        return fixtures.createExpense(USERNAME, description, amount, date, category);
+    }
+
+    @Test
+    void archivedExpensesStayVisibleAndEditable() {
+        LocalDate cutoff = LocalDate.of(2020, 1, 1);
+        ExpenseDto old = create("Old rent", "500.00", cutoff.minusMonths(6), "Housing");
+        ExpenseDto older = create("Older rent", "450.00", cutoff.minusMonths(18), "Housing");
+        ExpenseDto recent = create("Groceries", "80.00", cutoff.plusYears(5), "Food");
+
+        assertTrue(expenseArchiver.archiveBefore(cutoff) >= 2);
+
+        assertTrue(expenseRepository.findById(old.getId()).isEmpty());
+        assertTrue(archivedExpenseRepository.findById(old.getId()).isPresent());
+        assertTrue(expenseRepository.findById(recent.getId()).isPresent());
+
+        // Reads merge both tiers
+        List<ExpenseDto> all = expenseService.getExpensesByUsername(USERNAME);
+        assertTrue(all.stream().anyMatch(e -> e.getId().equals(older.getId())));
+        assertTrue(all.stream().anyMatch(e -> e.getId().equals(recent.getId())));
+        assertEquals(old, expenseService.getExpenseByIdAndUsername(old.getId(), USERNAME));
+        Map<String, BigDecimal> totals = expenseService.getCategoryTotals(USERNAME);
+        assertEquals(0, new BigDecimal("950.00").compareTo(totals.get("Housing")));
+        assertEquals(List.of(recent), expenseService.getExpensesByUsername(USERNAME, cutoff, null));
+        assertEquals(2, expenseService.getExpensesByUsername(USERNAME, null, cutoff).size());
+
+        // Editing an archived expense moves it back to the hot table and keeps its version history
+        ExpenseDto edited = expenseService.updateExpense(old.getId(),
+                new CreateExpenseDto("Old rent (corrected)", new BigDecimal("510.00"), old.getDate(), "Housing"),
+                USERNAME, old.getVersion());
+        assertEquals(old.getVersion() + 1, edited.getVersion());
+        assertTrue(expenseRepository.findById(old.getId()).isPresent());
+        assertTrue(archivedExpenseRepository.findById(old.getId()).isEmpty());
+
+        expenseService.deleteExpense(older.getId(), USERNAME);
+        assertTrue(archivedExpenseRepository.findById(older.getId()).isEmpty());
+
+        // The next run archives the edited expense again
+        expenseArchiver.archiveBefore(cutoff);
+        assertEquals(edited, expenseService.getExpenseByIdAndUsername(old.getId(), USERNAME));
+        assertTrue(archivedExpenseRepository.findById(old.getId()).isPresent());
+    }
+
+    @Test
+    void aJobLeaseIsHeldByOneRunAtATime() {
+        assertTrue(jobLocks.tryAcquire("archive-lease-test", Duration.ofMinutes(5)));
+        assertFalse(jobLocks.tryAcquire("archive-lease-test", Duration.ofMinutes(5)));
+
+        jobLocks.release("archive-lease-test");
+        assertTrue(jobLocks.tryAcquire("archive-lease-test", Duration.ofMinutes(5)));
+        jobLocks.release("archive-lease-test");
+
+        // An expired lease is taken over, as after an instance died mid-run
+        assertTrue(jobLocks.tryAcquire("archive-lease-expired", Duration.ZERO));
+        assertTrue(jobLocks.tryAcquire("archive-lease-expired", Duration.ofMinutes(5)));
+    }
+}
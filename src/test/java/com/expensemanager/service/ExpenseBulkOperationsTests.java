@@ -0,0 +1,67 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BulkUpdateExpensesDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExpenseBulkOperationsTests {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseArchiver expenseArchiver;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private ExpenseDto create(String username, String description, LocalDate date, String category) {
+        return fixtures.createExpense(username, description, "10.00", date, category);
+    }
+
+    @Test
+    void bulkOperationsAreScopedToTheUserAndKeepReadsConsistent() {
+        fixtures.register("bulk-user");
+        fixtures.register("bulk-other");
+        LocalDate march = LocalDate.of(2019, 3, 1);
+        ExpenseDto archived = create("bulk-user", "Bus", march.plusDays(1), "Transport");
+        expenseArchiver.archiveBefore(march.plusMonths(1));
+        ExpenseDto hot = create("bulk-user", "Taxi", march.plusDays(2), "Transport");
+        ExpenseDto otherCategory = create("bulk-user", "Lunch", march.plusDays(3), "Food");
+        ExpenseDto otherUsers = create("bulk-other", "Train", march.plusDays(4), "Transport");
+        // Warm the second-level cache so a stale entry would show up below
+        expenseService.getExpenseByIdAndUsername(hot.getId(), "bulk-user");
+
+        ExpenseFilterDto march2019 = new ExpenseFilterDto(march, march.plusMonths(1).minusDays(1), List.of("Transport"), null);
+        assertEquals(2, expenseService.bulkUpdateCategory(new BulkUpdateExpensesDto(march2019, "Travel"), "bulk-user"));
+
+        ExpenseDto updatedHot = expenseService.getExpenseByIdAndUsername(hot.getId(), "bulk-user");
+        assertEquals("Travel", updatedHot.getCategory());
+        assertEquals(hot.getVersion() + 1, updatedHot.getVersion());
+        assertEquals("Travel", expenseService.getExpenseByIdAndUsername(archived.getId(), "bulk-user").getCategory());
+        assertEquals("Food", expenseService.getExpenseByIdAndUsername(otherCategory.getId(), "bulk-user").getCategory());
+        assertEquals("Transport", expenseService.getExpenseByIdAndUsername(otherUsers.getId(), "bulk-other").getCategory());
+        assertEquals(0, new BigDecimal("20.00").compareTo(expenseService.getCategoryTotals("bulk-user").get("Travel")));
+
+        // Ids owned by someone else are silently outside the user's scope
+        ExpenseFilterDto byIds = new ExpenseFilterDto(null, null, null, List.of(hot.getId(), archived.getId(), otherUsers.getId()));
+        assertEquals(2, expenseService.bulkDelete(byIds, "bulk-user"));
+
+        assertThrows(ResourceNotFoundException.class, () -> expenseService.getExpenseByIdAndUsername(hot.getId(), "bulk-user"));
+        assertThrows(ResourceNotFoundException.class, () -> expenseService.getExpenseByIdAndUsername(archived.getId(), "bulk-user"));
+        assertNotNull(expenseService.getExpenseByIdAndUsername(otherUsers.getId(), "bulk-other"));
+        assertEquals(List.of(otherCategory.getId()),
+                expenseService.getExpensesByUsername("bulk-user").stream().map(ExpenseDto::getId).toList());
+    }
+}
@@ -0,0 +1,133 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.event.ExpenseChangeType;
+import com.expensemanager.event.ExpenseChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseChangeFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> pendingSends = new ArrayList<>();
+    private Executor sender = Runnable::run;
+
+    private ExpenseChangeFeed feed(int bufferSize, int replaySize) {
+        return new ExpenseChangeFeed(bufferSize, replaySize, 60_000, 60_000, task -> sender.execute(task), meterRegistry) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static ExpenseChangedEvent created(String username, long expenseId) {
+        ExpenseDto dto = new ExpenseDto(expenseId, "Lunch", new BigDecimal("12.50"), LocalDate.of(2026, 10, 1), "Food", 0L);
+        return new ExpenseChangedEvent(ExpenseChangeType.CREATED, 1L, username, 1L, null, dto);
+    }
+
+    private static List<String> changeIds(RecordingEmitter emitter) {
+        return emitter.events.stream()
+                .filter(event -> event.contains("event:" + ExpenseChangeFeed.CHANGE_EVENT))
+                .map(event -> event.substring(event.indexOf("id:") + 3, event.indexOf('\n', event.indexOf("id:"))))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void committedChangesArePushedOnlyToTheOwnersStreams() {
+        ExpenseChangeFeed feed = feed(16, 16);
+        RecordingEmitter alice = (RecordingEmitter) feed.subscribe("alice", null);
+        RecordingEmitter bob = (RecordingEmitter) feed.subscribe("bob", null);
+
+        feed.onExpenseChanged(created("alice", 7L));
+
+        assertEquals(1, changeIds(alice).size());
+        assertTrue(alice.events.get(alice.events.size() - 1).contains("expenseId=7"));
+        assertTrue(changeIds(bob).isEmpty());
+    }
+
+    @Test
+    void reconnectReplaysChangesAfterLastEventId() {
+        ExpenseChangeFeed feed = feed(16, 16);
+        RecordingEmitter first = (RecordingEmitter) feed.subscribe("alice", null);
+        feed.onExpenseChanged(created("alice", 1L));
+        String lastSeen = changeIds(first).get(0);
+        first.complete();
+
+        feed.onExpenseChanged(created("alice", 2L));
+        feed.onExpenseChanged(created("alice", 3L));
+        RecordingEmitter resumed = (RecordingEmitter) feed.subscribe("alice", lastSeen);
+
+        assertEquals(2, changeIds(resumed).size());
+        assertTrue(changeIds(resumed).stream().allMatch(id -> Long.parseLong(id) > Long.parseLong(lastSeen)));
+        assertTrue(resumed.events.stream().noneMatch(event -> event.contains("event:" + ExpenseChangeFeed.RESET_EVENT)));
+    }
+
+    @Test
+    void reconnectBeyondTheReplayRingGetsReset() {
+        ExpenseChangeFeed feed = feed(16, 2);
+        RecordingEmitter first = (RecordingEmitter) feed.subscribe("alice", null);
+        feed.onExpenseChanged(created("alice", 1L));
+        String lastSeen = changeIds(first).get(0);
+
+        for (long id = 2; id <= 5; id++) {
+            feed.onExpenseChanged(created("alice", id));
+        }
+        RecordingEmitter resumed = (RecordingEmitter) feed.subscribe("alice", lastSeen);
+        RecordingEmitter unknown = (RecordingEmitter) feed.subscribe("alice", "not-an-id");
+
+        assertTrue(changeIds(resumed).isEmpty());
+        assertTrue(resumed.events.stream().anyMatch(event -> event.contains("event:" + ExpenseChangeFeed.RESET_EVENT)));
+        assertTrue(unknown.events.stream().anyMatch(event -> event.contains("event:" + ExpenseChangeFeed.RESET_EVENT)));
+    }
+
+    @Test
+    void slowConsumerIsDisconnectedWithoutBlockingThePublisher() {
+        sender = pendingSends::add; // nothing is written until the test drains the sender
+        ExpenseChangeFeed feed = feed(4, 16);
+        RecordingEmitter slow = (RecordingEmitter) feed.subscribe("alice", null);
+
+        for (long id = 1; id <= 10; id++) {
+            feed.onExpenseChanged(created("alice", id));
+        }
+        assertEquals(0, feed.subscriberCount("alice"));
+        assertEquals(1.0, meterRegistry.counter("expense.stream.evictions").count());
+
+        while (!pendingSends.isEmpty()) {
+            pendingSends.remove(0).run();
+        }
+        assertTrue(slow.completed);
+        assertTrue(changeIds(slow).isEmpty());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (completed) {
+                throw new IllegalStateException("Emitter already completed");
+            }
+            events.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.exception.PreconditionFailedException;
+import com.expensemanager.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against the real database: versioned UPDATEs must prevent lost updates without any row locks
+@SpringBootTest
+class ExpenseConcurrencyTests {
+
+    private static final String USERNAME = "concurrency-user";
+    private static final int WRITERS = 8;
+    private static final int INCREMENTS_PER_WRITER = 25;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void registerUser() {
+        fixtures.register(USERNAME);
+    }
+
+    private ExpenseDto createExpense(String amount) {
+        return fixtures.createExpense(USERNAME, "Shared bill", amount, LocalDate.now(), "Utilities");
+    }
+
+    private static CreateExpenseDto withAmount(ExpenseDto expense, BigDecimal amount) {
+        return new CreateExpenseDto(expense.getDescription(), amount, expense.getDate(), expense.getCategory());
+    }
+
+    @Test
+    void concurrentReadModifyWriteLosesNoUpdates() throws Exception {
+        ExpenseDto expense = createExpense("1");
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int n = 0; n < INCREMENTS_PER_WRITER; n++) {
+                        // Classic client loop: read, modify, write back with If-Match, retry on 412
+                        while (true) {
+                            ExpenseDto current = expenseService.getExpenseByIdAndUsername(expense.getId(), USERNAME);
+                            try {
+                                expenseService.updateExpense(expense.getId(), withAmount(current, current.getAmount().add(BigDecimal.ONE)),
+                                        USERNAME, Set.of(current.getVersion()));
+                                break;
+                            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int updates = WRITERS * INCREMENTS_PER_WRITER;
+        ExpenseDto result = expenseService.getExpenseByIdAndUsername(expense.getId(), USERNAME);
+        assertEquals(0, BigDecimal.valueOf(1 + updates).compareTo(result.getAmount()),
+                "every increment must survive (conflicts retried: " + conflicts.get() + ")");
+        assertEquals(expense.getVersion() + updates, result.getVersion());
+    }
+
+    @Test
+    void updateBasedOnStaleReadFailsInsteadOfOverwriting() throws Exception {
+        ExpenseDto expense = createExpense("10");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService otherDevice = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+                // This transaction has read version N; another device commits N+1 before it writes
+                expenseRepository.findById(expense.getId()).orElseThrow();
+                try {
+                    otherDevice.submit(() -> expenseService.updateExpense(expense.getId(),
+                            withAmount(expense, new BigDecimal("20.00")), USERNAME)).get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                // No If-Match here: the version captured at read time still guards the UPDATE
+                expenseService.updateExpense(expense.getId(), withAmount(expense, new BigDecimal("30.00")), USERNAME);
+            }));
+        } finally {
+            otherDevice.shutdownNow();
+        }
+
+        ExpenseDto result = expenseService.getExpenseByIdAndUsername(expense.getId(), USERNAME);
+        assertEquals(0, new BigDecimal("20.00").compareTo(result.getAmount()));
+        assertEquals(expense.getVersion() + 1, result.getVersion());
+    }
+}
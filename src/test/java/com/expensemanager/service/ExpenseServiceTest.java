@@ -1,18 +1,29 @@
 package com.expensemanager.service;
 
+import com.expensemanager.dto.BulkUpdateExpensesDto;
 import com.expensemanager.dto.CreateExpenseDto;
 import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.entity.ArchivedExpense;
 import com.expensemanager.entity.Expense;
 import com.expensemanager.entity.User;
+import com.expensemanager.event.ExpenseChangeType;
+import com.expensemanager.event.ExpenseChangedEvent;
+import com.expensemanager.exception.PreconditionFailedException;
 import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.ArchivedExpenseRepository;
+import com.expensemanager.repository.CategoryTotal;
+import com.expensemanager.repository.ExpenseFilterPredicate;
 import com.expensemanager.repository.ExpenseRepository;
 import com.expensemanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -20,12 +31,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +51,27 @@ public class ExpenseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
+    @Mock
+    private ExpenseArchiver expenseArchiver;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
+    @Mock
+    private CategoryClassifier categoryClassifier;
+
+    @Mock
+    private ExpenseChangeLog changeLog;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -48,7 +83,9 @@ public class ExpenseServiceTest {
     void setUp() {
         user = new User(1L, "testuser", "password", "test@example.com");
         createExpenseDto = new CreateExpenseDto("Test Expense", BigDecimal.valueOf(100.00), LocalDate.now(), "Food");
-        expense = new Expense(1L, "Test Expense", BigDecimal.valueOf(100.00), LocalDate.now(), "Food", user);
+        expense = new Expense(1L, "Test Expense", BigDecimal.valueOf(100.00), LocalDate.now(), 1, user, null, 0L);
+        lenient().when(categoryService.resolveId("Food")).thenReturn(1);
+        lenient().when(categoryService.getName(1)).thenReturn("Food");
     }
 
     @Test
@@ -61,7 +98,16 @@ public class ExpenseServiceTest {
         assertNotNull(result);
         assertEquals(expense.getDescription(), result.getDescription());
         assertEquals(expense.getAmount(), result.getAmount());
+        assertEquals("Food", result.getCategory());
+        verify(categoryService).resolveId("Food");
         verify(expenseRepository, times(1)).save(any(Expense.class));
+
+        ArgumentCaptor<ExpenseChangedEvent> event = ArgumentCaptor.forClass(ExpenseChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ExpenseChangeType.CREATED, event.getValue().getType());
+        assertEquals("testuser", event.getValue().getUsername());
+        assertNull(event.getValue().getPrevious());
+        assertEquals(result, event.getValue().getCurrent());
     }
 
     @Test
@@ -98,6 +144,63 @@ public class ExpenseServiceTest {
     }
 
 
+    @Test
+    void getCategoryTotals_mapsIdsToNames() {
+        CategoryTotal food = mock(CategoryTotal.class);
+        when(food.getCategoryId()).thenReturn(1);
+        when(food.getTotal()).thenReturn(BigDecimal.valueOf(250.00));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(expenseRepository.sumAmountByCategory(user.getId())).thenReturn(List.of(food));
+
+        Map<String, BigDecimal> totals = expenseService.getCategoryTotals("testuser");
+
+        assertEquals(1, totals.size());
+        assertEquals(BigDecimal.valueOf(250.00), totals.get("Food"));
+    }
+
+    @Test
+    void getCategoryTotals_includesArchive() {
+        CategoryTotal hotFood = mock(CategoryTotal.class);
+        when(hotFood.getCategoryId()).thenReturn(1);
+        when(hotFood.getTotal()).thenReturn(new BigDecimal("25.00"));
+        CategoryTotal archivedFood = mock(CategoryTotal.class);
+        when(archivedFood.getCategoryId()).thenReturn(1);
+        when(archivedFood.getTotal()).thenReturn(new BigDecimal("75.00"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(expenseRepository.sumAmountByCategory(user.getId())).thenReturn(List.of(hotFood));
+        when(archivedExpenseRepository.sumAmountByCategory(user.getId())).thenReturn(List.of(archivedFood));
+
+        Map<String, BigDecimal> totals = expenseService.getCategoryTotals("testuser");
+
+        assertEquals(new BigDecimal("100.00"), totals.get("Food"));
+    }
+
+    @Test
+    void getExpensesByUsername_rangeAlsoReadsArchive() {
+        LocalDate from = LocalDate.now().minusYears(3);
+        ArchivedExpense archived = new ArchivedExpense(5L, "Old Expense", BigDecimal.TEN, from.plusDays(1), 1, user, null, 4L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(expenseRepository.findByUserIdAndDateRange(user.getId(), from, null)).thenReturn(List.of(expense));
+        when(archivedExpenseRepository.findByUserIdAndDateRange(user.getId(), from, null)).thenReturn(List.of(archived));
+
+        List<ExpenseDto> result = expenseService.getExpensesByUsername("testuser", from, null);
+
+        assertEquals(List.of(expense.getId(), 5L), result.stream().map(ExpenseDto::getId).toList());
+    }
+
+    @Test
+    void getExpenseByIdAndUsername_fallsBackToArchive() {
+        ArchivedExpense archived = new ArchivedExpense(5L, "Old Expense", BigDecimal.TEN, LocalDate.now().minusYears(2), 1, user, null, 4L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(expenseRepository.findById(5L)).thenReturn(Optional.empty());
+        when(archivedExpenseRepository.findById(5L)).thenReturn(Optional.of(archived));
+
+        ExpenseDto result = expenseService.getExpenseByIdAndUsername(5L, "testuser");
+
+        assertEquals("Old Expense", result.getDescription());
+        assertEquals(4L, result.getVersion());
+    }
+
     @Test
     void getExpenseByIdAndUsername_success() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
@@ -123,7 +226,7 @@ public class ExpenseServiceTest {
     @Test
     void getExpenseByIdAndUsername_accessDenied() {
         User otherUser = new User(2L, "otheruser", "password", "other@example.com");
-        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), "Other", otherUser);
+        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), 2, otherUser, null, 0L);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user)); // Current user
         when(expenseRepository.findById(otherUsersExpense.getId())).thenReturn(Optional.of(otherUsersExpense)); // Expense belongs to otherUser
@@ -138,7 +241,9 @@ public class ExpenseServiceTest {
     void updateExpense_success() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(expenseRepository.findById(expense.getId())).thenReturn(Optional.of(expense));
-        when(expenseRepository.save(any(Expense.class))).thenReturn(expense); // mock save returning the updated expense
+        when(expenseRepository.saveAndFlush(any(Expense.class))).thenReturn(expense); // mock save returning the updated expense
+        when(categoryService.resolveId("Travel")).thenReturn(3);
+        when(categoryService.getName(3)).thenReturn("Travel");
 
         CreateExpenseDto updateDto = new CreateExpenseDto("Updated Expense", BigDecimal.valueOf(150.00), LocalDate.now().plusDays(1), "Travel");
         ExpenseDto result = expenseService.updateExpense(expense.getId(), updateDto, "testuser");
@@ -146,13 +251,20 @@ public class ExpenseServiceTest {
         assertNotNull(result);
         assertEquals("Updated Expense", result.getDescription());
         assertEquals(BigDecimal.valueOf(150.00), result.getAmount());
-        verify(expenseRepository, times(1)).save(any(Expense.class));
+        assertEquals("Travel", result.getCategory());
+        verify(expenseRepository, times(1)).saveAndFlush(any(Expense.class));
+
+        ArgumentCaptor<ExpenseChangedEvent> event = ArgumentCaptor.forClass(ExpenseChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ExpenseChangeType.UPDATED, event.getValue().getType());
+        assertEquals("Test Expense", event.getValue().getPrevious().getDescription());
+        assertEquals("Updated Expense", event.getValue().getCurrent().getDescription());
     }
 
     @Test
     void updateExpense_accessDenied() {
         User otherUser = new User(2L, "otheruser", "password", "other@example.com");
-        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), "Other", otherUser);
+        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), 2, otherUser, null, 0L);
         
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(expenseRepository.findById(otherUsersExpense.getId())).thenReturn(Optional.of(otherUsersExpense));
@@ -163,7 +275,23 @@ public class ExpenseServiceTest {
             expenseService.updateExpense(otherUsersExpense.getId(), updateDto, "testuser");
         });
         assertEquals("You are not authorized to update this expense", exception.getMessage());
-        verify(expenseRepository, never()).save(any(Expense.class));
+        verify(expenseRepository, never()).saveAndFlush(any(Expense.class));
+    }
+
+    @Test
+    void updateExpense_staleVersion() {
+        expense.setVersion(3L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(expenseRepository.findById(expense.getId())).thenReturn(Optional.of(expense));
+
+        CreateExpenseDto updateDto = new CreateExpenseDto("Updated Expense", BigDecimal.TEN, LocalDate.now(), "Food");
+
+        Exception exception = assertThrows(PreconditionFailedException.class, () -> {
+            expenseService.updateExpense(expense.getId(), updateDto, "testuser", Set.of(2L));
+        });
+        assertEquals("Expense with id 1 has been modified (current version 3)", exception.getMessage());
+        verify(expenseRepository, never()).saveAndFlush(any(Expense.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -176,12 +304,13 @@ public class ExpenseServiceTest {
             expenseService.deleteExpense(expense.getId(), "testuser");
         });
         verify(expenseRepository, times(1)).delete(expense);
+        verify(eventPublisher).publishEvent(any(ExpenseChangedEvent.class));
     }
 
     @Test
     void deleteExpense_accessDenied() {
         User otherUser = new User(2L, "otheruser", "password", "other@example.com");
-        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), "Other", otherUser);
+        Expense otherUsersExpense = new Expense(2L, "Other Expense", BigDecimal.ONE, LocalDate.now(), 2, otherUser, null, 0L);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(expenseRepository.findById(otherUsersExpense.getId())).thenReturn(Optional.of(otherUsersExpense));
@@ -191,5 +320,35 @@ public class ExpenseServiceTest {
         });
         assertEquals("You are not authorized to delete this expense", exception.getMessage());
         verify(expenseRepository, never()).delete(any(Expense.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void bulkUpdateCategory_publishesBulkEvent() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(categoryService.findId("Food")).thenReturn(1);
+        when(categoryService.resolveId("Groceries")).thenReturn(4);
+        when(expenseRepository.updateCategoryMatching(any(ExpenseFilterPredicate.class), eq(4))).thenReturn(3);
+
+        ExpenseFilterDto filter = new ExpenseFilterDto(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), List.of("Food"), null);
+        int updated = expenseService.bulkUpdateCategory(new BulkUpdateExpensesDto(filter, "Groceries"), "testuser");
+
+        assertEquals(3, updated);
+        ArgumentCaptor<ExpenseChangedEvent> event = ArgumentCaptor.forClass(ExpenseChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ExpenseChangeType.BULK_UPDATED, event.getValue().getType());
+        assertNull(event.getValue().getCurrent());
+    }
+
+    @Test
+    void bulkDelete_unknownCategoriesMatchNothing() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(categoryService.findId("Never used")).thenReturn(null);
+
+        int deleted = expenseService.bulkDelete(new ExpenseFilterDto(null, null, List.of("Never used"), null), "testuser");
+
+        assertEquals(0, deleted);
+        verify(expenseRepository, never()).deleteMatching(any());
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,46 @@
+package com.expensemanager.service;
+
+import com.expensemanager.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseSplitterTest {
+
+    private static long sum(Map<String, Long> shares) {
+        return shares.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Test
+    void equalSplitHandsLeftoverCentsToTheFirstParticipants() {
+        Map<String, Long> shares = ExpenseSplitter.equal(1000, List.of("alice", "bob", "carol"));
+
+        assertEquals(Map.of("alice", 334L, "bob", 333L, "carol", 333L), shares);
+        assertEquals(1000, sum(shares));
+    }
+
+    @Test
+    void weightedSplitUsesLargestRemainders() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("alice", 1);
+        weights.put("bob", 2);
+        weights.put("carol", 4);
+
+        Map<String, Long> shares = ExpenseSplitter.shares(1000, weights);
+
+        // Exact shares are 142.857, 285.714 and 571.429: alice and bob have the largest remainders
+        assertEquals(Map.of("alice", 143L, "bob", 286L, "carol", 571L), shares);
+        assertEquals(1000, sum(shares));
+    }
+
+    @Test
+    void invalidSplitsAreRejected() {
+        assertThrows(InvalidRequestException.class, () -> ExpenseSplitter.exact(1000, Map.of("alice", 600L, "bob", 300L)));
+        assertThrows(InvalidRequestException.class, () -> ExpenseSplitter.shares(1000, Map.of("alice", 0)));
+        assertThrows(InvalidRequestException.class, () -> ExpenseSplitter.equal(1000, List.of()));
+    }
+}
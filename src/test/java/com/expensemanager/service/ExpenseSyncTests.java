@@ -0,0 +1,139 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.BulkUpdateExpensesDto;
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.dto.ExpenseSyncChangeDto;
+import com.expensemanager.dto.ExpenseSyncDto;
+import com.expensemanager.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExpenseSyncTests {
+
+    private static final LocalDate DAY = LocalDate.of(2021, 9, 1);
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseChangeLog changeLog;
+
+    @Autowired
+    private ExpenseArchiver expenseArchiver;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private ExpenseDto create(String username, String description, String category) {
+        return fixtures.createExpense(username, description, "10.00", DAY, category);
+    }
+
+    // Follows nextToken until hasMore is cleared; returns the final token and collects every change
+    private String syncAll(String username, String token, int limit, List<ExpenseSyncChangeDto> changes) {
+        while (true) {
+            ExpenseSyncDto page = expenseService.getChangesSince(username, token, limit);
+            assertFalse(page.isReset());
+            assertTrue(page.getChanges().size() <= limit);
+            changes.addAll(page.getChanges());
+            token = page.getNextToken();
+            if (!page.isHasMore()) {
+                return token;
+            }
+        }
+    }
+
+    @Test
+    void returnsOnlyWhatChangedSinceTheToken() {
+        fixtures.register("sync-user");
+        fixtures.register("sync-other");
+        ExpenseDto coffee = create("sync-user", "Coffee", "Food");
+        ExpenseDto bus = create("sync-user", "Bus", "Transport");
+        ExpenseDto book = create("sync-user", "Book", "Shopping");
+        create("sync-other", "Not mine", "Food");
+
+        List<ExpenseSyncChangeDto> initial = new ArrayList<>();
+        String token = syncAll("sync-user", null, 2, initial);
+        assertEquals(List.of(coffee.getId(), bus.getId(), book.getId()),
+                initial.stream().map(ExpenseSyncChangeDto::getExpenseId).toList());
+
+        // Nothing happened since: an empty page and the same position
+        ExpenseSyncDto unchanged = expenseService.getChangesSince("sync-user", token, 10);
+        assertTrue(unchanged.getChanges().isEmpty());
+        assertEquals(token, unchanged.getNextToken());
+
+        expenseService.updateExpense(coffee.getId(), new CreateExpenseDto("Flat white", new BigDecimal("3.20"), DAY, "Food"), "sync-user");
+        expenseService.deleteExpense(bus.getId(), "sync-user");
+        ExpenseDto lunch = create("sync-user", "Lunch", "Food");
+
+        List<ExpenseSyncChangeDto> delta = new ArrayList<>();
+        syncAll("sync-user", token, 10, delta);
+        assertEquals(3, delta.size());
+        assertEquals("Flat white", delta.get(0).getExpense().getDescription());
+        assertEquals(bus.getId(), delta.get(1).getExpenseId());
+        assertTrue(delta.get(1).isDeleted());
+        assertNull(delta.get(1).getExpense());
+        assertEquals(lunch.getId(), delta.get(2).getExpenseId());
+    }
+
+    @Test
+    void bulkChangesArePagedAndOldTokensAreResetAfterCompaction() {
+        fixtures.register("sync-bulk");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create("sync-bulk", "Snack " + i, "Food").getId());
+        }
+        String token = syncAll("sync-bulk", null, 100, new ArrayList<>());
+
+        expenseService.bulkUpdateCategory(new BulkUpdateExpensesDto(
+                new ExpenseFilterDto(null, null, null, ids.subList(0, 3)), "Treats"), "sync-bulk");
+        expenseService.bulkDelete(new ExpenseFilterDto(null, null, null, ids.subList(3, 5)), "sync-bulk");
+
+        // One bulk write stamps all its rows with the same number; small pages still resume inside it
+        List<ExpenseSyncChangeDto> delta = new ArrayList<>();
+        String afterBulk = syncAll("sync-bulk", token, 2, delta);
+        assertEquals(ids, delta.stream().map(ExpenseSyncChangeDto::getExpenseId).toList());
+        assertTrue(delta.subList(0, 3).stream().allMatch(change -> "Treats".equals(change.getExpense().getCategory())));
+        assertTrue(delta.subList(3, 5).stream().allMatch(ExpenseSyncChangeDto::isDeleted));
+
+        assertTrue(changeLog.purgeTombstonesBefore(LocalDateTime.now().plusDays(1)) >= 2);
+
+        // A client that has seen the deletions can continue; one that has not must start over
+        assertFalse(expenseService.getChangesSince("sync-bulk", afterBulk, 10).isReset());
+        assertTrue(expenseService.getChangesSince("sync-bulk", token, 10).isReset());
+        List<ExpenseSyncChangeDto> fresh = new ArrayList<>();
+        syncAll("sync-bulk", null, 10, fresh);
+        assertEquals(ids.subList(0, 3), fresh.stream().map(ExpenseSyncChangeDto::getExpenseId).toList());
+    }
+
+    @Test
+    void archivedExpensesAreStillSynced() {
+        fixtures.register("sync-archive");
+        LocalDate longAgo = LocalDate.of(2012, 3, 1);
+        ExpenseDto old = fixtures.createExpense("sync-archive", "Old lamp", "25.00", longAgo, "Shopping");
+        ExpenseDto recent = create("sync-archive", "Lamp bulb", "Shopping");
+        assertTrue(expenseArchiver.archiveBefore(longAgo.plusMonths(1)) >= 1);
+
+        List<ExpenseSyncChangeDto> changes = new ArrayList<>();
+        syncAll("sync-archive", null, 1, changes);
+        assertEquals(List.of(old.getId(), recent.getId()), changes.stream().map(ExpenseSyncChangeDto::getExpenseId).toList());
+        assertEquals(old, changes.get(0).getExpense());
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        fixtures.register("sync-user");
+        assertThrows(InvalidRequestException.class, () -> expenseService.getChangesSince("sync-user", "abc", 10));
+    }
+}
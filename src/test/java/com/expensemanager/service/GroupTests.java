@@ -0,0 +1,78 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateGroupDto;
+import com.expensemanager.dto.CreateSharedExpenseDto;
+import com.expensemanager.dto.GroupDto;
+import com.expensemanager.dto.MemberBalanceDto;
+import com.expensemanager.dto.SharedExpenseDto;
+import com.expensemanager.dto.TransferDto;
+import com.expensemanager.entity.SplitRule;
+import com.expensemanager.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GroupTests {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Map<String, BigDecimal> balances(Long groupId) {
+        return groupService.getBalances(groupId, "group-alice").stream()
+                .collect(Collectors.toMap(MemberBalanceDto::getUsername, MemberBalanceDto::getBalance));
+    }
+
+    private static CreateSharedExpenseDto expense(String amount, String paidBy, SplitRule split) {
+        return new CreateSharedExpenseDto("Dinner", new BigDecimal(amount), LocalDate.now(), paidBy, split, null, null, null);
+    }
+
+    @Test
+    void balancesFollowSharedExpensesAndSettleToZero() {
+        List.of("group-alice", "group-bob", "group-carol", "group-outsider").forEach(fixtures::register);
+        GroupDto group = groupService.createGroup(new CreateGroupDto("Flat", List.of("group-bob", "group-carol")), "group-alice");
+
+        groupService.addSharedExpense(group.getId(), expense("90.00", null, SplitRule.EQUAL), "group-alice");
+        CreateSharedExpenseDto weighted = expense("40.00", "group-bob", SplitRule.SHARES);
+        weighted.setWeights(Map.of("group-bob", 1, "group-carol", 3));
+        SharedExpenseDto taxi = groupService.addSharedExpense(group.getId(), weighted, "group-alice");
+        assertEquals(0, new BigDecimal("30.00").compareTo(taxi.getShares().get("group-carol")));
+
+        Map<String, BigDecimal> balances = balances(group.getId());
+        assertEquals(0, new BigDecimal("60.00").compareTo(balances.get("group-alice")));
+        assertEquals(0, new BigDecimal("0.00").compareTo(balances.get("group-bob")));
+        assertEquals(0, new BigDecimal("-60.00").compareTo(balances.get("group-carol")));
+
+        List<TransferDto> plan = groupService.getSettlement(group.getId(), "group-bob");
+        assertEquals(1, plan.size());
+        assertEquals("group-carol", plan.get(0).getFrom());
+        assertEquals("group-alice", plan.get(0).getTo());
+
+        // Paying the transfer is an EXACT split with the creditor's share; removing an expense reverses it
+        CreateSharedExpenseDto repayment = expense("60.00", "group-carol", SplitRule.EXACT);
+        repayment.setAmounts(Map.of("group-alice", new BigDecimal("60.00")));
+        SharedExpenseDto paid = groupService.addSharedExpense(group.getId(), repayment, "group-carol");
+        assertTrue(balances(group.getId()).values().stream().allMatch(balance -> balance.signum() == 0));
+        assertTrue(groupService.getSettlement(group.getId(), "group-alice").isEmpty());
+
+        groupService.deleteSharedExpense(group.getId(), paid.getId(), "group-alice");
+        assertEquals(0, new BigDecimal("-60.00").compareTo(balances(group.getId()).get("group-carol")));
+
+        assertThrows(AccessDeniedException.class, () -> groupService.getBalances(group.getId(), "group-outsider"));
+        CreateSharedExpenseDto withOutsider = expense("10.00", null, SplitRule.EQUAL);
+        withOutsider.setParticipants(List.of("group-alice", "group-outsider"));
+        assertThrows(InvalidRequestException.class, () -> groupService.addSharedExpense(group.getId(), withOutsider, "group-alice"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CategoryInsightDto;
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.ExpenseFilterDto;
+import com.expensemanager.dto.InsightsDto;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.entity.User;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class InsightsTests {
+
+    private static final YearMonth MONTH = YearMonth.of(2021, 5);
+
+    @Autowired
+    private InsightsService insightsService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ExpenseChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExpenseDto spend(String username, String amount, String category, int day) {
+        return fixtures.createExpense(username, category + " " + amount, amount, MONTH.atDay(day), category);
+    }
+
+    private static CategoryInsightDto category(InsightsDto insights, String name) {
+        return insights.getCategories().stream().filter(row -> name.equals(row.getCategory())).findFirst().orElseThrow();
+    }
+
+    private static void assertApproximately(String expected, BigDecimal actual, double relativeError) {
+        BigDecimal exact = new BigDecimal(expected);
+        BigDecimal bound = exact.multiply(BigDecimal.valueOf(relativeError)).add(new BigDecimal("0.01"));
+        assertTrue(exact.subtract(actual).abs().compareTo(bound) <= 0, () -> "expected ~" + expected + " but was " + actual);
+    }
+
+    private static List<BigDecimal> topAmounts(InsightsDto insights) {
+        return insights.getTopExpenses().stream().map(ExpenseDto::getAmount).toList();
+    }
+
+    @Test
+    void quantilesAndTopExpensesFollowWrites() {
+        fixtures.register("insights-user");
+        for (int i = 1; i <= 10; i++) {
+            spend("insights-user", i + "0.00", "Food", i);
+        }
+        ExpenseDto rent = spend("insights-user", "1000.00", "Rent", 1);
+
+        // First read rebuilds the month from the expense table
+        InsightsDto insights = insightsService.getInsights("insights-user", MONTH);
+        CategoryInsightDto food = category(insights, "Food");
+        assertEquals(10, food.getCount());
+        assertEquals(0, new BigDecimal("550.00").compareTo(food.getTotal()));
+        assertApproximately("50.00", food.getMedian(), insights.getRelativeError());
+        assertApproximately("90.00", food.getP90(), insights.getRelativeError());
+        assertEquals(11, insights.getOverall().getCount());
+        assertEquals(rent.getId(), insights.getTopExpenses().get(0).getId());
+        assertEquals(10, insights.getTopExpenses().size());
+
+        // Later writes are applied incrementally; removing the top expense refills the heap
+        expenseService.deleteExpense(rent.getId(), "insights-user");
+        spend("insights-user", "5.00", "Food", 20);
+        insights = insightsService.getInsights("insights-user", MONTH);
+        assertNull(insights.getCategories().stream().filter(row -> "Rent".equals(row.getCategory())).findFirst().orElse(null));
+        assertEquals(11, category(insights, "Food").getCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(topAmounts(insights).get(0)));
+        assertEquals(0, new BigDecimal("10.00").compareTo(topAmounts(insights).get(9)));
+    }
+
+    @Test
+    void topExpensesAreReloadedOnceTheHeldCandidatesRunOut() {
+        fixtures.register("insights-books");
+        List<ExpenseDto> books = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            books.add(spend("insights-books", i + ".00", "Books", 1 + i % 28));
+        }
+        assertEquals(0, new BigDecimal("25.00").compareTo(topAmounts(insightsService.getInsights("insights-books", MONTH)).get(0)));
+
+        // Only twice the reported size is held, so deleting the 11 largest leaves too few candidates in memory
+        for (ExpenseDto book : books.subList(14, 25)) {
+            expenseService.deleteExpense(book.getId(), "insights-books");
+        }
+        InsightsDto insights = insightsService.getInsights("insights-books", MONTH);
+        assertEquals(14, insights.getOverall().getCount());
+        List<BigDecimal> top = topAmounts(insights);
+        assertEquals(10, top.size());
+        assertEquals(0, new BigDecimal("14.00").compareTo(top.get(0)));
+        assertEquals(0, new BigDecimal("5.00").compareTo(top.get(9)));
+    }
+
+    @Test
+    void updatesMovingExpensesBetweenMonthsAndBulkDeletesAreReflected() {
+        fixtures.register("insights-mover");
+        ExpenseDto moved = spend("insights-mover", "40.00", "Travel", 3);
+        spend("insights-mover", "60.00", "Travel", 4);
+        assertEquals(2, insightsService.getInsights("insights-mover", MONTH).getOverall().getCount());
+
+        expenseService.updateExpense(moved.getId(), new CreateExpenseDto("Train", new BigDecimal("40.00"),
+                MONTH.plusMonths(1).atDay(3), "Travel"), "insights-mover");
+        InsightsDto insights = insightsService.getInsights("insights-mover", MONTH);
+        assertEquals(1, insights.getOverall().getCount());
+        assertEquals(0, new BigDecimal("60.00").compareTo(insights.getOverall().getTotal()));
+        assertEquals(1, insightsService.getInsights("insights-mover", MONTH.plusMonths(1)).getOverall().getCount());
+
+        LocalDate from = MONTH.atDay(1);
+        expenseService.bulkDelete(new ExpenseFilterDto(from, from.plusMonths(2), null, null), "insights-mover");
+        insights = insightsService.getInsights("insights-mover", MONTH);
+        assertEquals(0, insights.getOverall().getCount());
+        assertNull(insights.getOverall().getMedian());
+        assertTrue(insights.getTopExpenses().isEmpty());
+    }
+
+    @Test
+    void writesMadeOnAnotherInstanceAreSeenOnTheNextRead() {
+        fixtures.register("insights-shared");
+        spend("insights-shared", "20.00", "Food", 2);
+        assertEquals(1, insightsService.getInsights("insights-shared", MONTH).getOverall().getCount());
+
+        // Another instance writes the row and its change-log entry; no event reaches this InsightsService
+        User user = userRepository.findByUsername("insights-shared").orElseThrow();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Expense expense = expenseRepository.save(new Expense(null, "Elsewhere", new BigDecimal("80.00"),
+                    MONTH.atDay(3), categoryService.resolveId("Food"), user, null, null));
+            changeLog.record(user.getId(), expense.getId(), false);
+        });
+
+        InsightsDto insights = insightsService.getInsights("insights-shared", MONTH);
+        assertEquals(2, insights.getOverall().getCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(insights.getOverall().getTotal()));
+
+        // Once rebuilt, local writes are patched in again
+        spend("insights-shared", "5.00", "Food", 4);
+        assertEquals(3, insightsService.getInsights("insights-shared", MONTH).getOverall().getCount());
+    }
+}
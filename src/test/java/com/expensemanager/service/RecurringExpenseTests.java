@@ -0,0 +1,82 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateRecurringExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.RecurringExpenseDto;
+import com.expensemanager.dto.SetBudgetDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RecurringExpenseTests {
+
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+
+    @Autowired
+    private RecurringExpenseGenerator recurringExpenseGenerator;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private List<LocalDate> expenseDates(String username, String description) {
+        return expenseService.getExpensesByUsername(username).stream()
+                .filter(expense -> expense.getDescription().equals(description))
+                .map(ExpenseDto::getDate)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void generationCatchesUpOnceAndResumesOnSchedule() {
+        fixtures.register("recurring-user");
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.withDayOfMonth(1).minusMonths(3);
+        budgetService.setBudget("recurring-user", "Housing", new SetBudgetDto(new BigDecimal("5000.00")));
+        // Warm the cached per-user list so a stale query cache entry would show up below
+        assertTrue(expenseDates("recurring-user", "Rent").isEmpty());
+
+        RecurringExpenseDto rent = recurringExpenseService.createRecurringExpense(new CreateRecurringExpenseDto(
+                "Rent", new BigDecimal("1200.00"), "Housing", "@monthly", start, null), "recurring-user");
+        assertEquals(start, rent.getNextRunDate());
+
+        recurringExpenseGenerator.generateThrough(today);
+        List<LocalDate> expected = List.of(start, start.plusMonths(1), start.plusMonths(2), start.plusMonths(3));
+        assertEquals(expected, expenseDates("recurring-user", "Rent"));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(budgetService.getBudgets("recurring-user").get(0).getSpent()));
+
+        // Running again (or after a restart) finds nothing due
+        assertEquals(0, recurringExpenseGenerator.generateThrough(today));
+        assertEquals(expected, expenseDates("recurring-user", "Rent"));
+
+        assertEquals(1, recurringExpenseGenerator.generateThrough(start.plusMonths(4)));
+        assertEquals(start.plusMonths(5), recurringExpenseService.getRecurringExpenses("recurring-user").get(0).getNextRunDate());
+    }
+
+    @Test
+    void scheduleStopsAfterEndDate() {
+        fixtures.register("recurring-ending");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        recurringExpenseService.createRecurringExpense(new CreateRecurringExpenseDto(
+                "Gym", new BigDecimal("30.00"), "Health", "0 0 0 * * MON", start, LocalDate.of(2024, 1, 31)), "recurring-ending");
+
+        recurringExpenseGenerator.generateThrough(LocalDate.of(2024, 3, 1));
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15),
+                LocalDate.of(2024, 1, 22), LocalDate.of(2024, 1, 29)), expenseDates("recurring-ending", "Gym"));
+        assertNull(recurringExpenseService.getRecurringExpenses("recurring-ending").get(0).getNextRunDate());
+    }
+}
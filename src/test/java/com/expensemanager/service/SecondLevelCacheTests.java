@@ -0,0 +1,98 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.repository.ExpenseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 2, 1);
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void expenseListIsServedFromTheQueryCacheUntilAnExpenseIsWritten() {
+        fixtures.register("cache-list");
+        fixtures.createExpense("cache-list", "Tea", "2.50", DAY, "Food");
+        Statistics statistics = statistics();
+        expenseService.getExpensesByUsername("cache-list");
+
+        long hits = statistics.getQueryCacheHitCount();
+        long misses = statistics.getQueryCacheMissCount();
+        assertEquals(1, expenseService.getExpensesByUsername("cache-list").size());
+        assertEquals(hits + 1, statistics.getQueryCacheHitCount());
+        assertEquals(misses, statistics.getQueryCacheMissCount());
+
+        // Any write to the expenses table invalidates the cached result, so the next read goes to the database
+        fixtures.createExpense("cache-list", "Scone", "3.10", DAY, "Food");
+        assertEquals(2, expenseService.getExpensesByUsername("cache-list").size());
+        assertEquals(misses + 1, statistics.getQueryCacheMissCount());
+    }
+
+    @Test
+    void updatesReplaceTheCachedExpenseAndDeletesEvictIt() {
+        fixtures.register("cache-entity");
+        ExpenseDto expense = fixtures.createExpense("cache-entity", "Lunch", "9.00", DAY, "Food");
+        CacheRegionStatistics region = statistics().getDomainDataRegionStatistics("expenses");
+        expenseService.getExpenseByIdAndUsername(expense.getId(), "cache-entity");
+
+        // The committed update is written through to the cache, so the read hits and sees the new values
+        expenseService.updateExpense(expense.getId(), new CreateExpenseDto("Late lunch", new BigDecimal("11.00"), DAY, "Food"),
+                "cache-entity");
+        long hits = region.getHitCount();
+        ExpenseDto read = expenseService.getExpenseByIdAndUsername(expense.getId(), "cache-entity");
+        assertEquals("Late lunch", read.getDescription());
+        assertEquals(hits + 1, region.getHitCount());
+
+        expenseService.deleteExpense(expense.getId(), "cache-entity");
+        long misses = region.getMissCount();
+        assertFalse(entityManagerFactory.getCache().contains(Expense.class, expense.getId()));
+        assertTrue(expenseRepository.findById(expense.getId()).isEmpty());
+        assertEquals(misses + 1, region.getMissCount());
+    }
+
+    @Test
+    void cacheStatisticsArePublishedAsMetrics() {
+        fixtures.register("cache-metrics");
+        ExpenseDto expense = fixtures.createExpense("cache-metrics", "Bus", "1.80", DAY, "Transport");
+        expenseService.getExpenseByIdAndUsername(expense.getId(), "cache-metrics");
+        expenseService.getExpenseByIdAndUsername(expense.getId(), "cache-metrics");
+
+        // Hibernate's per-region counters and the provider's own cache meters (see CacheMetricsConfig)
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "expenses").tag("result", "hit").functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.find("cache.puts").tag("cache", "expenses").meter());
+    }
+}
@@ -0,0 +1,53 @@
+package com.expensemanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SettlementPlannerTest {
+
+    private static Map<String, Long> apply(Map<String, Long> balances, List<SettlementPlanner.Transfer> transfers) {
+        Map<String, Long> after = new HashMap<>(balances);
+        for (SettlementPlanner.Transfer transfer : transfers) {
+            assertTrue(transfer.cents() > 0);
+            after.merge(transfer.from(), transfer.cents(), Long::sum);
+            after.merge(transfer.to(), -transfer.cents(), Long::sum);
+        }
+        return after;
+    }
+
+    @Test
+    void largestDebtorPaysLargestCreditorFirst() {
+        Map<String, Long> balances = Map.of("alice", 6000L, "bob", -4000L, "carol", -1500L, "dave", -500L);
+
+        List<SettlementPlanner.Transfer> transfers = SettlementPlanner.plan(balances);
+
+        assertEquals(List.of(
+                new SettlementPlanner.Transfer("bob", "alice", 4000),
+                new SettlementPlanner.Transfer("carol", "alice", 1500),
+                new SettlementPlanner.Transfer("dave", "alice", 500)), transfers);
+    }
+
+    @Test
+    void largeGroupsSettleCompletelyInFewerTransfersThanMembers() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, Long> balances = new HashMap<>();
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long cents = random.nextLong(-50_000, 50_000);
+            balances.put("member-" + i, cents);
+            sum += cents;
+        }
+        balances.merge("member-0", -sum, Long::sum); // balances in a group always add up to zero
+
+        List<SettlementPlanner.Transfer> transfers = SettlementPlanner.plan(balances);
+
+        assertTrue(transfers.size() < balances.size());
+        assertTrue(apply(balances, transfers).values().stream().allMatch(cents -> cents == 0));
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.CreateExpenseDto;
+import com.expensemanager.dto.ExpenseDto;
+import com.expensemanager.dto.UserRegistrationDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Setup shared by the @SpringBootTest classes. Lives in the test sources, so only test contexts pick it up.
+ * The context and its in-memory database are cached across test classes, so a user may already exist.
+ */
+@Component
+class TestFixtures {
+
+    private final UserService userService;
+    private final ExpenseService expenseService;
+
+    @Autowired
+    TestFixtures(UserService userService, ExpenseService expenseService) {
+        this.userService = userService;
+        this.expenseService = expenseService;
+    }
+
+    void register(String username) {
+        try {
+            userService.findByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            userService.registerUser(new UserRegistrationDto(username, "password123", username + "@example.com"));
+        }
+    }
+
+    ExpenseDto createExpense(String username, String description, String amount, LocalDate date, String category) {
+        return expenseService.createExpense(new CreateExpenseDto(description, new BigDecimal(amount), date, category), username);
+    }
+}
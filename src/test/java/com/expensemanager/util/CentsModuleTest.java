@@ -0,0 +1,50 @@
+package com.expensemanager.util;
+
+import com.expensemanager.config.BinaryFormatsConfig;
+import com.expensemanager.dto.ExpenseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CentsModuleTest {
+
+    private static final ExpenseDto EXPENSE =
+            new ExpenseDto(7L, "Coffee", new BigDecimal("3.40"), LocalDate.of(2023, 3, 14), "Food", 2L);
+
+    @Test
+    void cborWritesAmountsAsIntegerCentsAndReadsThemBack() throws Exception {
+        ObjectMapper cbor = BinaryFormatsConfig.cbor(new Jackson2ObjectMapperBuilder()).build();
+
+        byte[] bytes = cbor.writeValueAsBytes(EXPENSE);
+        JsonNode amount = cbor.readTree(bytes).get("amount");
+        assertTrue(amount.isIntegralNumber());
+        assertEquals(340, amount.longValue());
+        assertEquals(EXPENSE, cbor.readValue(bytes, ExpenseDto.class));
+    }
+
+    @Test
+    void smileRoundTripsAmounts() throws Exception {
+        ObjectMapper smile = BinaryFormatsConfig.smile(new Jackson2ObjectMapperBuilder()).build();
+
+        ExpenseDto read = smile.readValue(smile.writeValueAsBytes(EXPENSE), ExpenseDto.class);
+        assertEquals(0, new BigDecimal("3.40").compareTo(read.getAmount()));
+        assertEquals(EXPENSE, read);
+    }
+
+    @Test
+    void rejectsFractionalAmounts() throws Exception {
+        ObjectMapper cbor = BinaryFormatsConfig.cbor(new Jackson2ObjectMapperBuilder()).build();
+        ObjectNode node = cbor.valueToTree(EXPENSE);
+        node.put("amount", 3.4);
+
+        assertThrows(MismatchedInputException.class, () -> cbor.readValue(cbor.writeValueAsBytes(node), ExpenseDto.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinHashTest {
+
+    @Test
+    void normalisationIgnoresCaseDigitsAndPunctuation() {
+        assertArrayEquals(MinHash.signature("starbucks coffee"), MinHash.signature("STARBUCKS #4711 -- Coffee 12/03"));
+    }
+
+    @Test
+    void descriptionsWithoutLettersMatchNothing() {
+        int[] reference = MinHash.signature("12345");
+        assertEquals(0.0, MinHash.similarity(reference, MinHash.signature("")));
+        assertEquals(0.0, MinHash.similarity(reference, reference));
+        assertEquals(0.0, MinHash.similarity(reference, MinHash.signature("Coffee")));
+        assertEquals(1.0, MinHash.similarity(MinHash.signature("ab"), MinHash.signature("AB 12")));
+    }
+
+    @Test
+    void similarDescriptionsScoreHigherThanUnrelatedOnes() {
+        int[] manual = MinHash.signature("Tesco groceries");
+        int[] imported = MinHash.signature("TESCO STORES 2231 GROCERIES");
+        int[] unrelated = MinHash.signature("Monthly rent payment");
+
+        assertTrue(MinHash.similarity(manual, imported) >= 0.4);
+        assertTrue(MinHash.similarity(manual, unrelated) < 0.2);
+    }
+}
@@ -0,0 +1,18 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    void roundsToTheNearestCent() {
+        assertEquals(1001, Money.toCents(new BigDecimal("10.005")));
+        assertEquals(1000, Money.toCents(new BigDecimal("10.004")));
+        assertEquals(-250, Money.toCents(new BigDecimal("-2.5")));
+        assertEquals(1200, Money.toCents(new BigDecimal("12")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NaiveBayesModelTest {
+
+    private static int best(NaiveBayesModel model, int... features) {
+        double[] scores = new double[model.labelCount()];
+        model.logScores(features, features.length, scores);
+        int best = 0;
+        for (int slot = 1; slot < scores.length; slot++) {
+            if (scores[slot] > scores[best]) {
+                best = slot;
+            }
+        }
+        return model.label(best);
+    }
+
+    @Test
+    void predictsTheLabelWhoseFeaturesMatch() {
+        NaiveBayesModel model = new NaiveBayesModel(1024);
+        for (int i = 0; i < 5; i++) {
+            model.add(7, new int[]{1, 2}, 2, 1);
+            model.add(9, new int[]{3, 4}, 2, 1);
+        }
+
+        assertEquals(7, best(model, 1));
+        assertEquals(9, best(model, 4, 3));
+        assertEquals(10, model.totalDocs());
+    }
+
+    @Test
+    void unlearningRestoresThePreviousPrediction() {
+        NaiveBayesModel model = new NaiveBayesModel(1024);
+        model.add(1, new int[]{5}, 1, 1);
+        model.add(1, new int[]{5}, 1, 1);
+        model.add(2, new int[]{6}, 1, 1);
+        assertEquals(1, best(model, 5));
+
+        for (int i = 0; i < 3; i++) {
+            model.add(2, new int[]{5}, 1, 1);
+        }
+        assertEquals(2, best(model, 5));
+
+        for (int i = 0; i < 3; i++) {
+            model.add(2, new int[]{5}, 1, -1);
+        }
+        assertEquals(1, best(model, 5));
+        assertEquals(3, model.totalDocs());
+        // Removing more than was learned is ignored
+        model.add(3, new int[]{5}, 1, -1);
+        assertEquals(-1, model.slotOf(3));
+    }
+
+    @Test
+    void tableGrowsPastItsInitialCapacity() {
+        NaiveBayesModel model = new NaiveBayesModel(1 << 14);
+        int[] features = new int[1];
+        for (int feature = 0; feature < 5000; feature++) {
+            features[0] = feature;
+            model.add(feature % 3, features, 1, 1);
+        }
+        assertEquals(4999 % 3, best(model, 4999));
+        assertEquals(3, model.labelCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    private static long exact(long[] sorted, double q) {
+        return sorted[(int) (q * (sorted.length - 1))];
+    }
+
+    private static void assertWithinAccuracy(long expected, long actual) {
+        // Rounding the estimate to whole cents adds at most half a cent
+        assertTrue(Math.abs(actual - expected) <= expected * ACCURACY + 0.5,
+                () -> "expected " + expected + " within " + ACCURACY + " but was " + actual);
+    }
+
+    @Test
+    void quantilesStayWithinRelativeAccuracy() {
+        SplittableRandom random = new SplittableRandom(7);
+        long[] values = new long[100_000];
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + (long) Math.exp(random.nextDouble(0, 14)); // 1 cent up to about 12,000.00
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0, 0.1, 0.5, 0.9, 0.99, 1}) {
+            assertWithinAccuracy(exact(values, q), sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void mergedSketchesMatchASingleSketchAndRemovalsUndoAdds() {
+        QuantileSketch all = new QuantileSketch(ACCURACY);
+        QuantileSketch low = new QuantileSketch(ACCURACY);
+        QuantileSketch high = new QuantileSketch(ACCURACY);
+        for (long cents = 100; cents <= 10_000; cents += 100) {
+            all.add(cents);
+            (cents <= 5_000 ? low : high).add(cents);
+        }
+
+        QuantileSketch merged = low.copy();
+        merged.merge(high);
+        assertEquals(all.count(), merged.count());
+        assertEquals(all.quantile(0.5), merged.quantile(0.5));
+        assertEquals(all.quantile(0.9), merged.quantile(0.9));
+
+        for (long cents = 5_100; cents <= 10_000; cents += 100) {
+            assertTrue(merged.remove(cents));
+        }
+        assertEquals(low.count(), merged.count());
+        assertEquals(low.quantile(0.5), merged.quantile(0.5));
+        assertFalse(merged.remove(1_000_000));
+    }
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        assertEquals(-1, new QuantileSketch(ACCURACY).quantile(0.5));
+    }
+}
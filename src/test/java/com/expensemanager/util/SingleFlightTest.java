@@ -0,0 +1,92 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsShareOneComputation() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("alice", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> followerThread = new AtomicReference<>();
+            Future<Integer> follower = executor.submit(() -> {
+                followerThread.set(Thread.currentThread());
+                return singleFlight.execute("alice", loads::incrementAndGet);
+            });
+            // The follower parks on the leader's future once it has joined the in-flight call
+            while (followerThread.get() == null || followerThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void forgottenCallIsNotJoined() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> stale = executor.submit(() -> singleFlight.execute("alice", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return 1;
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            singleFlight.forgetIf("alice"::equals);
+
+            assertEquals(2, singleFlight.execute("alice", () -> 2));
+            release.countDown();
+            assertEquals(1, stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void exceptionIsPropagatedAndNotRetained() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("alice", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals(3, singleFlight.execute("alice", () -> 3));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
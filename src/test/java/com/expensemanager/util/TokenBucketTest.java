@@ -0,0 +1,48 @@
+package com.expensemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0L);
+
+        assertEquals(0, bucket.tryAcquire(0L));
+        assertEquals(0, bucket.tryAcquire(0L));
+        assertEquals(0, bucket.tryAcquire(0L));
+        assertEquals(SECOND, bucket.tryAcquire(0L));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 2.0, 0L);
+
+        assertEquals(0, bucket.tryAcquire(0L));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0L));
+        assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void reportsFullOnlyAfterCompleteRefill() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, 0L);
+        assertTrue(bucket.isFull(0L));
+
+        bucket.tryAcquire(0L);
+        bucket.tryAcquire(0L);
+
+        assertFalse(bucket.isFull(SECOND));
+        assertTrue(bucket.isFull(2 * SECOND));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1.0, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0.0, 0L));
+    }
+}
@@ -0,0 +1,28 @@
+package com.expensemanager.util;
+
+import com.expensemanager.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionETagTest {
+
+    @Test
+    void parsesASingleETagOrAnyOfAList() {
+        assertNull(VersionETag.parseIfMatch(null));
+        assertNull(VersionETag.parseIfMatch(" * "));
+        assertEquals(Set.of(3L), VersionETag.parseIfMatch(VersionETag.of(3L)));
+        assertEquals(Set.of(3L, 4L), VersionETag.parseIfMatch("\"3\", \"4\""));
+        // Weak and foreign tags in a list never match, but the strong ones still do
+        assertEquals(Set.of(5L), VersionETag.parseIfMatch("W/\"4\", \"a,b\",\"5\""));
+    }
+
+    @Test
+    void rejectsHeadersThatCannotMatchAnyVersion() {
+        assertEquals("If-Match requires a strong ETag",
+                assertThrows(PreconditionFailedException.class, () -> VersionETag.parseIfMatch("W/\"3\"")).getMessage());
+        assertThrows(PreconditionFailedException.class, () -> VersionETag.parseIfMatch("\"abc\", \"x\""));
+    }
+}